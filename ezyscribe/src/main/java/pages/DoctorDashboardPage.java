@@ -11,17 +11,28 @@ import org.apache.logging.log4j.Logger;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
-public class DoctorDashboardPage {
+import utils.AdaptiveWait;
+import utils.BatchedActions;
+import utils.MaxDuration;
+import utils.TaskTableScanner;
+import utils.TaskUrlState;
+import utils.TestConfig;
+
+public class DoctorDashboardPage implements TaskDashboard {
     WebDriver driver;
-    static WebDriverWait wait;
+    private AdaptiveWait wait;
     private static final Logger logger = LogManager.getLogger(DoctorDashboardPage.class);
+    // Uploads can take a while on a cold backend; only used until the wait history has samples
+    private static final Duration UPLOAD_TIMEOUT = Duration.ofSeconds(30);
 
     public DoctorDashboardPage(WebDriver driver) {
         this.driver = driver;
         PageFactory.initElements(driver, this);
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        wait = new AdaptiveWait(driver, Duration.ofSeconds(10));
     }
 
     // ============ Locators ============
@@ -42,26 +53,43 @@ public class DoctorDashboardPage {
     private By columnOptionsGroup = By.xpath("//div[@role='group']");
     private By firstViewOption = By.xpath("(//div[@role='option' and @cmdk-item=''])[1]");
     private By taskIdColumnHeader = By.xpath("//th[.='Task ID']");
+    private By taskTableBody = By.xpath("//table//tbody");
+    private By taskIdLinks = By.xpath("//table//tbody//td[@data-slot='table-cell']//a");
     private By priorityFilterButton = By.xpath("//button[@data-slot='popover-trigger' and contains(text(), 'Priority')]");
     private By priorityOptionsGroup = By.xpath("//div[@role='group']");
     private By secondPriorityOption = By.xpath("(//div[@role='option' and @cmdk-item=''])[2]");
     private By resetFiltersButton = By.xpath("//button[@aria-label='Reset filters' and normalize-space(text())='Reset']");
+    private By darkThemeApplied = By.xpath("//html[contains(concat(' ', normalize-space(@class), ' '), ' dark ')]");
+    private By lightThemeApplied = By.xpath("//html[not(contains(concat(' ', normalize-space(@class), ' '), ' dark '))]");
 
     // ============ Login ============
+    @MaxDuration(15000)
     public void loginAsDoctor(String email, String password) {
-        driver.get("https://appv2.ezyscribe.com/auth/login");
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
+        driver.get(TestConfig.loginUrl());
+        wait.until("login.emailField", ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
         driver.findElement(passwordField).sendKeys(password);
         driver.findElement(loginButton).click();
     }
 
+    // ============ Deep links ============
+    // Lands on a searched/filtered/sorted dashboard in one navigation, clicking only
+    // for the parts the app doesn't take from the URL
+    public void openTasks(TaskUrlState state) {
+        new TaskDeepLink(driver, wait, this).open(state);
+    }
+
+    // Plain dashboard by URL, instead of a refresh that keeps whatever was applied
+    public void resetToTasks() {
+        new TaskDeepLink(driver, wait, this).reset();
+    }
+
     public void refreshDashboard() {
         driver.navigate().refresh();
         waitForDashboardToLoad();
     }
 
     public void waitForDashboardToLoad() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(taskIdSearchBox));
+        wait.until("dashboard.searchBox", ExpectedConditions.visibilityOfElementLocated(taskIdSearchBox));
     }
 
     public void clickResetFiltersIfPresent() {
@@ -70,7 +98,11 @@ public class DoctorDashboardPage {
             if (!resetButtons.isEmpty()) {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", resetButtons.get(0));
                 System.out.println("🔁 Clicked Reset Filters.");
-                Thread.sleep(1000);
+                try {
+                    wait.until("filters.reset", ExpectedConditions.invisibilityOfElementLocated(resetFiltersButton), Duration.ofSeconds(3));
+                } catch (TimeoutException e) {
+                    System.out.println("⚠️ Reset button still shown; refreshing anyway.");
+                }
                 refreshDashboard();
             }
         } catch (Exception e) {
@@ -79,12 +111,16 @@ public class DoctorDashboardPage {
     }
 
     // ============ Theme Toggle ============
+    // The toggle button itself, e.g. for an element-level visual check
+    public WebElement themeToggle() {
+        return wait.until("theme.toggle", ExpectedConditions.visibilityOfElementLocated(themeToggleButton));
+    }
+
     public void clickThemeToggle() {
-        WebElement toggle = wait.until(ExpectedConditions.elementToBeClickable(themeToggleButton));
+        WebElement toggle = wait.until("theme.toggle", ExpectedConditions.elementToBeClickable(themeToggleButton));
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", toggle);
         new Actions(driver).moveToElement(toggle).pause(200).click().perform();
-        new WebDriverWait(driver, Duration.ofSeconds(3))
-                .until(ExpectedConditions.presenceOfElementLocated(anyMenuItem));
+        wait.until("theme.menu", ExpectedConditions.presenceOfElementLocated(anyMenuItem), Duration.ofSeconds(3));
     }
 
     public boolean isDarkModeActive() {
@@ -95,38 +131,63 @@ public class DoctorDashboardPage {
     }
 
     public void selectDarkMode() {
+        // Toggle, option and the class change in one script; the calls below are the fallback
+        if (BatchedActions.pickFromMenu(driver, themeToggleButton, darkModeOption, darkThemeApplied, Duration.ofSeconds(10)).ok) return;
         clickThemeToggle();
-        WebElement dark = wait.until(ExpectedConditions.elementToBeClickable(darkModeOption));
+        WebElement dark = wait.until("theme.darkOption", ExpectedConditions.elementToBeClickable(darkModeOption));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", dark);
-        wait.until(driver -> isDarkModeActive());
+        wait.until("theme.darkApplied", driver -> isDarkModeActive());
     }
 
     public void selectLightMode() {
+        // Toggle, option and the class change in one script; the calls below are the fallback
+        if (BatchedActions.pickFromMenu(driver, themeToggleButton, lightModeOption, lightThemeApplied, Duration.ofSeconds(10)).ok) return;
         clickThemeToggle();
-        WebElement light = wait.until(ExpectedConditions.elementToBeClickable(lightModeOption));
+        WebElement light = wait.until("theme.lightOption", ExpectedConditions.elementToBeClickable(lightModeOption));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", light);
-        wait.until(driver -> !isDarkModeActive());
+        wait.until("theme.lightApplied", driver -> !isDarkModeActive());
     }
 
     // ============ Task ID Search ============
     public String searchSecondTaskIdInTableAndSearch() {
+        String taskId = secondTaskIdInTable();
+        searchTaskId(taskId);
+        return taskId;
+    }
+
+    public String secondTaskIdInTable() {
         By secondTaskIdCell = By.xpath("(//td[@data-slot='table-cell']//a)[2]");
-        String taskId = wait.until(ExpectedConditions.visibilityOfElementLocated(secondTaskIdCell)).getText().trim();
-        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        return wait.until("table.secondTaskId", ExpectedConditions.visibilityOfElementLocated(secondTaskIdCell)).getText().trim();
+    }
+
+    // Types the ID and waits for it in the first row, without searchTaskId()'s reload and fixed
+    // pauses; for timing the search itself, e.g. under load
+    public void searchTaskIdUntilShown(String taskId) {
+        By firstRowIsTask = By.xpath("(//td[@data-slot='table-cell']//a)[1][normalize-space(.)='" + taskId + "']");
+        if (BatchedActions.setInput(driver, taskIdSearchBox, taskId, firstRowIsTask, null, Duration.ofSeconds(10)).ok) return;
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
         searchInput.clear();
         searchInput.sendKeys(taskId);
-        System.out.println("🔍 Searched for second Task ID: " + taskId);
+        wait.until("search.firstRowIsTask", ExpectedConditions.presenceOfElementLocated(firstRowIsTask));
+    }
+
+    // Searches for a task ID the caller already knows, e.g. one seeded through TaskFixtures
+    @MaxDuration(5000)
+    public void searchTaskId(String taskId) {
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        searchInput.clear();
+        searchInput.sendKeys(taskId);
+        System.out.println("🔍 Searched for Task ID: " + taskId);
         try { Thread.sleep(1000); } catch (InterruptedException ignored) {}
         refreshDashboard();
         try { Thread.sleep(1000); } catch (InterruptedException ignored) {}
-        return taskId;
     }
 
     public void assertFirstRowHasTaskId(String expectedTaskId) {
         By firstTaskIdCell = By.xpath("(//td[@data-slot='table-cell']//a)[1]");
         for (int i = 1; i <= 3; i++) {
             try {
-                WebElement cell = wait.until(ExpectedConditions.visibilityOfElementLocated(firstTaskIdCell));
+                WebElement cell = wait.until("table.firstTaskId", ExpectedConditions.visibilityOfElementLocated(firstTaskIdCell));
                 String actual = cell.getText().trim();
                 if (actual.equals(expectedTaskId)) {
                     System.out.println("✅ First row matches searched Task ID: " + actual);
@@ -143,7 +204,16 @@ public class DoctorDashboardPage {
     }
 
     public void clearTaskIdSearchBoxWithWait() {
-        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        // One script sets "" with React's input/change events and waits for the table to re-render; the loop below is the fallback
+        if (BatchedActions.clearInput(driver, taskIdSearchBox, taskTableBody, Duration.ofSeconds(10)).ok) {
+            System.out.println("🧹 Search box cleared and table loaded.");
+            return;
+        }
+
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        boolean wasEmpty = searchInput.getAttribute("value").isEmpty();
+        WebElement tableBefore = firstOrNull(taskTableBody);
+        String rowsBefore = tableBefore == null ? null : tableBefore.getText();
         boolean cleared = false;
         for (int i = 0; i < 5; i++) {
             try {
@@ -162,8 +232,9 @@ public class DoctorDashboardPage {
             throw new RuntimeException("❌ Could not clear Task ID search box after retries.");
         }
 
+        // Rows of the old search don't count, only the table that replaced them
         try {
-            wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(By.xpath("//table//tbody//tr"), 0));
+            wait.until(wasEmpty ? "table.rowsLoaded" : "table.reloadedAfterClear", tableChangedFrom(wasEmpty ? null : tableBefore, rowsBefore));
         } catch (Exception e) {
             System.out.println("⚠️ Table did not reload after clearing search.");
         }
@@ -171,41 +242,52 @@ public class DoctorDashboardPage {
     }
 
     // ============ Filters ============
-    public void applyFirstStatusFilterAndVerify() {
+    public String applyFirstStatusFilterAndVerify() {
         clearTaskIdSearchBoxWithWait();
-        wait.until(ExpectedConditions.elementToBeClickable(statusFilterButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(statusOptionsGroup));
-        WebElement option = wait.until(ExpectedConditions.visibilityOfElementLocated(firstStatusOption));
+        wait.until("filter.statusButton", ExpectedConditions.elementToBeClickable(statusFilterButton)).click();
+        wait.until("filter.statusOptions", ExpectedConditions.presenceOfElementLocated(statusOptionsGroup));
+        WebElement option = wait.until("filter.statusOption", ExpectedConditions.visibilityOfElementLocated(firstStatusOption));
         String selectedStatus = option.findElement(By.cssSelector("span.truncate")).getText().trim();
         option.click();
         By statusCell = By.xpath("(//table//tbody/tr)[1]/td[4]//span[contains(@class,'capitalize')]");
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(statusCell, selectedStatus));
+        wait.until("filter.statusApplied", ExpectedConditions.textToBePresentInElementLocated(statusCell, selectedStatus));
+        return selectedStatus;
+    }
+
+    // Checks every row on every page, not just the first one
+    public TaskTableScanner.Result verifyAllRowsHaveStatus(String status) {
+        return new TaskTableScanner(driver).verifyColumnContains(4, "Status", status);
     }
 
     public void clearStatusFilter() {
-        wait.until(ExpectedConditions.elementToBeClickable(clearStatusFilterButton)).click();
+        wait.until("filter.clearStatus", ExpectedConditions.elementToBeClickable(clearStatusFilterButton)).click();
     }
 
-    public void applyPriorityFilterAndVerify() {
+    public String applyPriorityFilterAndVerify() {
         clearTaskIdSearchBoxWithWait();
-        wait.until(ExpectedConditions.elementToBeClickable(priorityFilterButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(priorityOptionsGroup));
-        WebElement option = wait.until(ExpectedConditions.visibilityOfElementLocated(secondPriorityOption));
+        wait.until("filter.priorityButton", ExpectedConditions.elementToBeClickable(priorityFilterButton)).click();
+        wait.until("filter.priorityOptions", ExpectedConditions.presenceOfElementLocated(priorityOptionsGroup));
+        WebElement option = wait.until("filter.priorityOption", ExpectedConditions.visibilityOfElementLocated(secondPriorityOption));
         String selectedPriority = option.findElement(By.cssSelector("span.truncate")).getText().trim();
         option.click();
         By priorityCell = By.xpath("(//table//tbody/tr)[1]/td[5]//span[contains(@class,'capitalize')]");
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(priorityCell, selectedPriority));
+        wait.until("filter.priorityApplied", ExpectedConditions.textToBePresentInElementLocated(priorityCell, selectedPriority));
+        return selectedPriority;
+    }
+
+    public TaskTableScanner.Result verifyAllRowsHavePriority(String priority) {
+        return new TaskTableScanner(driver).verifyColumnContains(5, "Priority", priority);
     }
 
     public void clearPriorityFilter() {
-        wait.until(ExpectedConditions.elementToBeClickable(clearPriorityFilterButton)).click();
+        wait.until("filter.clearPriority", ExpectedConditions.elementToBeClickable(clearPriorityFilterButton)).click();
     }
 
     // ============ Column Visibility ============
     public void toggleTaskIdColumnVisibility() {
-        wait.until(ExpectedConditions.elementToBeClickable(viewButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(columnOptionsGroup));
-        WebElement firstOption = wait.until(ExpectedConditions.elementToBeClickable(firstViewOption));
+        wait.until("columns.viewButton", ExpectedConditions.elementToBeClickable(viewButton)).click();
+        wait.until("columns.options", ExpectedConditions.presenceOfElementLocated(columnOptionsGroup));
+        WebElement firstOption = wait.until("columns.firstOption", ExpectedConditions.elementToBeClickable(firstViewOption));
         firstOption.click();
     }
 
@@ -229,6 +311,7 @@ public class DoctorDashboardPage {
         }
     }
 
+    @MaxDuration(5000)
     public void applyAscendingSortOnTaskId() {
         try {
             System.out.println("🟡 Applying ascending sort on Task ID...");
@@ -238,52 +321,93 @@ public class DoctorDashboardPage {
             By sortButtonLocator = By.xpath("//button[contains(., 'Task #') and @aria-haspopup='menu']");
             By menuLocator = By.xpath("//div[@role='menu']");
             By ascOption = By.xpath("//div[@role='menuitemcheckbox' and contains(., 'Asc')]");
-            By rowLocator = By.xpath("//table//tbody/tr");
 
-            WebElement sortButton = wait.until(ExpectedConditions.elementToBeClickable(sortButtonLocator));
+            // Open the menu, pick Asc and wait for the table to re-render in one script; the clicks below are the fallback
+            BatchedActions.Result batched = BatchedActions.pickFromMenuUntilChanged(driver, sortButtonLocator, ascOption, taskTableBody, Duration.ofSeconds(10));
+            if (batched.ok) {
+                // unchanged: Asc is checked but the rows were already ascending, so nothing re-rendered
+                System.out.println(batched.values.containsKey("alreadyChecked") ? "✅ Ascending sort already applied"
+                        : batched.values.containsKey("unchanged") ? "✅ Applied ascending sort; rows were already in order"
+                        : "⬆️ Applied ascending sort in one script");
+                return;
+            }
+
+            WebElement sortButton = wait.until("sort.button", ExpectedConditions.elementToBeClickable(sortButtonLocator));
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", sortButton);
             Thread.sleep(300);
 
             for (int i = 0; i < 3; i++) {
                 try {
                     sortButton.click();
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(menuLocator));
+                    wait.until("sort.menu", ExpectedConditions.visibilityOfElementLocated(menuLocator));
                     break;
                 } catch (Exception e) {
                     System.out.println("🔁 Retry click: " + e.getMessage());
-                    sortButton = wait.until(ExpectedConditions.elementToBeClickable(sortButtonLocator));
+                    sortButton = wait.until("sort.button", ExpectedConditions.elementToBeClickable(sortButtonLocator));
                     Thread.sleep(500);
                 }
             }
 
-            WebElement ascItem = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(ascOption))
+            WebElement ascItem = wait.until("sort.ascOptions", ExpectedConditions.presenceOfAllElementsLocatedBy(ascOption))
                     .stream().filter(WebElement::isDisplayed).findFirst()
                     .orElseThrow(() -> new RuntimeException("❌ 'Asc' option not found"));
 
-            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", ascItem);
-            Thread.sleep(1000);
-
-            for (int i = 0; i < 5; i++) {
-                List<WebElement> rows = driver.findElements(rowLocator);
-                if (!rows.isEmpty()) {
-                    System.out.println("✅ Rows visible after sorting. Count: " + rows.size());
-                    return;
-                }
-                Thread.sleep(1000);
+            // Clicking a checked Asc would turn the sort off again
+            if (isChecked(ascItem)) {
+                new Actions(driver).sendKeys(Keys.ESCAPE).perform();
+                System.out.println("✅ Ascending sort already applied");
+                return;
             }
-
-            throw new RuntimeException("❌ Table did not update after ascending sort.");
+            WebElement tableBefore = firstOrNull(taskTableBody);
+            String rowsBefore = tableBefore == null ? null : tableBefore.getText();
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", ascItem);
+            waitForSortToApply(sortButtonLocator, ascOption, tableBefore, rowsBefore);
         } catch (Exception e) {
             throw new RuntimeException("❌ Failed to apply ascending sort: " + e.getMessage(), e);
         }
     }
 
+    // The table re-rendered, or (rows already in that order) the Asc item now shows as checked
+    private void waitForSortToApply(By sortButton, By ascOption, WebElement tableBefore, String rowsBefore) {
+        try {
+            wait.until("sort.tableChanged", tableChangedFrom(tableBefore, rowsBefore));
+            System.out.println("✅ Table re-rendered after sorting.");
+        } catch (TimeoutException e) {
+            if (!BatchedActions.isMenuItemChecked(driver, sortButton, ascOption, Duration.ofSeconds(5))) {
+                throw new RuntimeException("❌ Table did not update after ascending sort.");
+            }
+            System.out.println("✅ Asc is checked; rows were already in ascending order.");
+        }
+    }
+
+    private WebElement firstOrNull(By locator) {
+        List<WebElement> found = driver.findElements(locator);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Rows are back and the tbody was replaced, or kept with different rows. Counting rows alone
+    // is already true before the app reacts, so it would race the re-render.
+    private ExpectedCondition<Boolean> tableChangedFrom(WebElement tbody, String text) {
+        return d -> {
+            if (d.findElements(By.xpath("//table//tbody/tr")).isEmpty()) return false;
+            try {
+                return tbody == null || !tbody.getText().equals(text);
+            } catch (StaleElementReferenceException e) {
+                return true;
+            }
+        };
+    }
+
+    private static boolean isChecked(WebElement menuItem) {
+        return "true".equals(menuItem.getAttribute("aria-checked")) || "checked".equals(menuItem.getAttribute("data-state"));
+    }
+
     public void verifyTaskIdsInAscendingOrder() {
         By rowLocator = By.xpath("//table//tbody/tr");
 
         for (int attempt = 1; attempt <= 3; attempt++) {
             try {
-                wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(rowLocator, 1));
+                wait.until("table.rowsSorted", ExpectedConditions.numberOfElementsToBeMoreThan(rowLocator, 1));
                 List<WebElement> rows = driver.findElements(rowLocator);
                 List<Integer> ids = new ArrayList<>();
                 for (WebElement row : rows) {
@@ -317,31 +441,41 @@ public class DoctorDashboardPage {
         throw new AssertionError("❌ Task IDs not in ascending order after retries.");
     }
 
+    // Streams through every page of the table, comparing each page's first row with the last one seen
+    public TaskTableScanner.Result verifyAllTaskIdsInAscendingOrder() {
+        return new TaskTableScanner(driver).verifyAscendingTaskIds();
+    }
+
+    // Just these tasks (e.g. the seeded ones) in this order, on whichever pages they land
+    public TaskTableScanner.Result verifyTaskIdsInOrder(List<String> taskIds) {
+        return new TaskTableScanner(driver).verifyTaskIdsInOrder(taskIds);
+    }
+
     // ========== RECORDING FUNCTIONALITY ==========
 
     @FindBy(xpath = "//button[contains(., 'Record')]")
-    private static WebElement recordButton;
+    private WebElement recordButton;
 
     @FindBy(xpath = "//button[.//canvas]")
     private WebElement stopButton;
 
     @FindBy(xpath = "//button[.//*[name()='svg' and @aria-hidden='true'][.//*[name()='rect'][@rx='1']]]")
-    private static WebElement pauseButton;
+    private WebElement pauseButton;
 
     @FindBy(xpath = "//p[contains(@class, 'gap-5') and contains(@class, 'items-center')]")
-    private static WebElement recordingTimer;
+    private WebElement recordingTimer;
 
     @FindBy(xpath = "//button[contains(., 'Review')]")
-    private static WebElement reviewButton;
+    private WebElement reviewButton;
 
     @FindBy(xpath = "//div[@role='dialog' and contains(., 'Review Recordings')]")
-    private static WebElement reviewPopup;
+    private WebElement reviewPopup;
 
     @FindBy(xpath = "//div[@role='dialog']//button[contains(., 'Upload Recordings')]")
-    private static WebElement uploadRecordingsButton;
+    private WebElement uploadRecordingsButton;
 
     @FindBy(xpath = "//div[@role='dialog']//button[contains(., 'Record Again')]")
-    private static WebElement recordAgainButton;
+    private WebElement recordAgainButton;
 
     @FindBy(xpath = "//div[@role='dialog']//button[contains(@class, 'lucide-trash')]")
     private List<WebElement> deleteRecordingButtons;
@@ -350,30 +484,30 @@ public class DoctorDashboardPage {
     private List<WebElement> playRecordingButtons;
 
     @FindBy(xpath = "//div[contains(text(),'Audio uploaded and workflow started!')]")
-    private static WebElement taskCreatedNotification;
+    private WebElement taskCreatedNotification;
 
     // === Recording Actions ===
 
     public void startRecording() {
         logger.info("Starting recording...");
-        wait.until(ExpectedConditions.elementToBeClickable(recordButton)).click();
-        wait.until(ExpectedConditions.visibilityOf(recordingTimer));
+        wait.until("recording.recordButton", ExpectedConditions.elementToBeClickable(recordButton)).click();
+        wait.until("recording.timer", ExpectedConditions.visibilityOf(recordingTimer));
     }
 
     public void pauseRecording() {
         logger.info("Pausing recording...");
         try {
-			wait.until(ExpectedConditions.elementToBeClickable(pauseButton)).click();
+			wait.until("recording.pauseButton", ExpectedConditions.elementToBeClickable(pauseButton)).click();
 		} catch (Exception e) {
 			// TODO Auto-generated catch block
 			e.printStackTrace();
 		}
-        wait.until(ExpectedConditions.visibilityOf(reviewButton));
+        wait.until("recording.reviewButton", ExpectedConditions.visibilityOf(reviewButton));
     }
 
     public void stopRecording() {
         logger.info("Stopping recording...");
-        wait.until(ExpectedConditions.elementToBeClickable(stopButton)).click();
+        wait.until("recording.stopButton", ExpectedConditions.elementToBeClickable(stopButton)).click();
     }
 
     public boolean isReviewButtonVisible() {
@@ -393,20 +527,21 @@ public class DoctorDashboardPage {
     public void openReviewPopup() {
         if (isElementDisplayed(reviewButton)) {
             reviewButton.click();
-            wait.until(ExpectedConditions.visibilityOf(reviewPopup));
+            wait.until("recording.reviewPopup", ExpectedConditions.visibilityOf(reviewPopup));
         }
     }
 
+    @MaxDuration(15000)
     public void uploadRecordings() {
         logger.info("Uploading recordings...");
-        wait.until(ExpectedConditions.elementToBeClickable(uploadRecordingsButton)).click();
-        wait.until(ExpectedConditions.invisibilityOf(reviewPopup));
+        wait.until("recording.uploadButton", ExpectedConditions.elementToBeClickable(uploadRecordingsButton)).click();
+        wait.until("recording.uploadClosesPopup", ExpectedConditions.invisibilityOf(reviewPopup));
     }
 
     public void recordAgain() {
         logger.info("Clicking 'Record Again'...");
-        wait.until(ExpectedConditions.elementToBeClickable(recordAgainButton)).click();
-        wait.until(ExpectedConditions.invisibilityOf(reviewPopup));
+        wait.until("recording.recordAgainButton", ExpectedConditions.elementToBeClickable(recordAgainButton)).click();
+        wait.until("recording.recordAgainClosesPopup", ExpectedConditions.invisibilityOf(reviewPopup));
     }
 
     public void deleteRecording(int index) {
@@ -444,8 +579,19 @@ public class DoctorDashboardPage {
     }
 
     public boolean verifyTaskCreated() {
+        return verifyTaskCreated("recording.taskCreated", UPLOAD_TIMEOUT);
+    }
+
+    // Long clips take proportionally longer to upload, so each clip length learns its own timing
+    // and starts from a timeout scaled by its length (-Dezyscribe.upload.msPerClipSecond)
+    public boolean verifyTaskCreated(int clipSeconds) {
+        Duration timeout = UPLOAD_TIMEOUT.plusMillis(clipSeconds * TestConfig.getLong("upload.msPerClipSecond", 500));
+        return verifyTaskCreated("upload.taskCreated." + clipSeconds + "s", timeout);
+    }
+
+    private boolean verifyTaskCreated(String waitName, Duration timeout) {
         try {
-            wait.until(ExpectedConditions.visibilityOf(taskCreatedNotification));
+            wait.until(waitName, ExpectedConditions.visibilityOf(taskCreatedNotification), timeout);
             logger.info("Task creation notification visible");
             return true;
         } catch (TimeoutException e) {
@@ -453,4 +599,64 @@ public class DoctorDashboardPage {
             return false;
         }
     }
+
+    // === Created Task ===
+    // The doctor's table only lists their own tasks, so the task an upload created is the task
+    // number that wasn't there before it
+
+    public Set<String> visibleTaskIds() {
+        Set<String> ids = new LinkedHashSet<>();
+        for (WebElement link : driver.findElements(taskIdLinks)) {
+            try {
+                String id = link.getText().trim();
+                if (!id.isEmpty()) ids.add(id);
+            } catch (StaleElementReferenceException ignored) {
+                // re-rendered under us; the next poll reads the new rows
+            }
+        }
+        return ids;
+    }
+
+    // The task number that appeared since `before`; the dashboard is reloaded once if the table
+    // doesn't pick the task up by itself. Null if it never shows.
+    public String awaitCreatedTaskId(Set<String> before, Duration timeout) {
+        ExpectedCondition<String> created = d -> {
+            for (String id : visibleTaskIds()) {
+                if (!before.contains(id)) return id;
+            }
+            return null;
+        };
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                String taskId = wait.until("upload.createdTaskId", created, timeout);
+                logger.info("Upload created task {}", taskId);
+                return taskId;
+            } catch (TimeoutException e) {
+                if (attempt == 1) refreshDashboard();
+            }
+        }
+        logger.warn("No new task number on the doctor's dashboard");
+        return null;
+    }
+
+    // === Upload Metering ===
+
+    // Wraps fetch/XHR so request body sizes are summed in the page; call before uploadRecordings()
+    public void startUploadByteCounter() {
+        ((JavascriptExecutor) driver).executeScript(
+                "if (window.__ezyUploadBytes !== undefined) { window.__ezyUploadBytes = 0; return; }" +
+                "window.__ezyUploadBytes = 0;" +
+                "const size = b => !b ? 0 : (b.size !== undefined ? b.size : (b.byteLength !== undefined ? b.byteLength" +
+                "  : (typeof b === 'string' ? b.length : (b instanceof FormData" +
+                "  ? Array.from(b.values()).reduce((n, v) => n + size(v), 0) : 0))));" +
+                "const send = XMLHttpRequest.prototype.send;" +
+                "XMLHttpRequest.prototype.send = function (body) { window.__ezyUploadBytes += size(body); return send.apply(this, arguments); };" +
+                "const fetch = window.fetch;" +
+                "window.fetch = function (input, init) { window.__ezyUploadBytes += size(init && init.body); return fetch.apply(this, arguments); };");
+    }
+
+    public long getUploadedBytes() {
+        Object bytes = ((JavascriptExecutor) driver).executeScript("return window.__ezyUploadBytes || 0;");
+        return bytes instanceof Number ? ((Number) bytes).longValue() : 0L;
+    }
 }
\ No newline at end of file
@@ -4,24 +4,33 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
 import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.AdaptiveWait;
+import utils.BatchedActions;
+import utils.MaxDuration;
+import utils.TaskTableScanner;
+import utils.TaskUrlState;
+import utils.TestConfig;
 
-public class ScribeDashboardPage {
+public class ScribeDashboardPage implements TaskDashboard {
 
     private WebDriver driver;
-    private WebDriverWait wait;
+    private AdaptiveWait wait;
 
     public ScribeDashboardPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new AdaptiveWait(driver, Duration.ofSeconds(10));
     }
 
     // Locators
@@ -43,28 +52,44 @@ public class ScribeDashboardPage {
     private By columnOptionsGroup = By.xpath("//div[@role='group']");
     private By firstViewOption = By.xpath("(//div[@role='option' and @cmdk-item=''])[1]");
     private By taskIdColumnHeader = By.xpath("//th[.='Task ID']");
+    private By taskTableBody = By.xpath("//table//tbody");
     private By priorityFilterButton = By.xpath("//button[@data-slot='popover-trigger' and contains(text(), 'Priority')]");
     private By priorityOptionsGroup = By.xpath("//div[@role='group']");
     private By secondPriorityOption = By.xpath("(//div[@role='option' and @cmdk-item=''])[2]");
     private By taskIdCells = By.xpath("//table//tbody//tr/td[1]//a");
     private By resetFiltersButton = By.xpath("//button[@aria-label='Reset filters' and normalize-space(text())='Reset']");
+    private By darkThemeApplied = By.xpath("//html[contains(concat(' ', normalize-space(@class), ' '), ' dark ')]");
+    private By lightThemeApplied = By.xpath("//html[not(contains(concat(' ', normalize-space(@class), ' '), ' dark '))]");
 
     // ====================== CORE UTILITIES ===========================
 
+    @MaxDuration(15000)
     public void loginAsScribe(String email, String password) {
-        driver.get("https://appv2.ezyscribe.com/auth/login");
-        wait.until(ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
+        driver.get(TestConfig.loginUrl());
+        wait.until("login.emailField", ExpectedConditions.visibilityOfElementLocated(emailField)).sendKeys(email);
         driver.findElement(passwordField).sendKeys(password);
         driver.findElement(loginButton).click();
     }
 
+    // ====================== DEEP LINKS ===========================
+    // Lands on a searched/filtered/sorted dashboard in one navigation, clicking only
+    // for the parts the app doesn't take from the URL
+    public void openTasks(TaskUrlState state) {
+        new TaskDeepLink(driver, wait, this).open(state);
+    }
+
+    // Plain dashboard by URL, instead of a refresh that keeps whatever was applied
+    public void resetToTasks() {
+        new TaskDeepLink(driver, wait, this).reset();
+    }
+
     public void refreshDashboard() {
         driver.navigate().refresh();
         waitForDashboardToLoad();
     }
 
     public void waitForDashboardToLoad() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(taskIdSearchBox));
+        wait.until("dashboard.searchBox", ExpectedConditions.visibilityOfElementLocated(taskIdSearchBox));
     }
 
     public void clickResetFiltersIfPresent() {
@@ -73,7 +98,11 @@ public class ScribeDashboardPage {
             if (!resetButtons.isEmpty()) {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", resetButtons.get(0));
                 System.out.println("🔁 Clicked Reset Filters.");
-                Thread.sleep(1000);
+                try {
+                    wait.until("filters.reset", ExpectedConditions.invisibilityOfElementLocated(resetFiltersButton), Duration.ofSeconds(3));
+                } catch (TimeoutException e) {
+                    System.out.println("⚠️ Reset button still shown; refreshing anyway.");
+                }
                 refreshDashboard();
             }
         } catch (Exception e) {
@@ -91,12 +120,16 @@ public class ScribeDashboardPage {
         }
     }
 
+    // The toggle button itself, e.g. for an element-level visual check
+    public WebElement themeToggle() {
+        return wait.until("theme.toggle", ExpectedConditions.visibilityOfElementLocated(themeToggleButton));
+    }
+
     public void clickThemeToggle() {
-        WebElement toggle = wait.until(ExpectedConditions.elementToBeClickable(themeToggleButton));
+        WebElement toggle = wait.until("theme.toggle", ExpectedConditions.elementToBeClickable(themeToggleButton));
         ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", toggle);
         new Actions(driver).moveToElement(toggle).pause(200).click().perform();
-        new WebDriverWait(driver, Duration.ofSeconds(3))
-                .until(ExpectedConditions.presenceOfElementLocated(anyMenuItem));
+        wait.until("theme.menu", ExpectedConditions.presenceOfElementLocated(anyMenuItem), Duration.ofSeconds(3));
     }
 
     public boolean isDarkModeActive() {
@@ -108,29 +141,54 @@ public class ScribeDashboardPage {
     }
 
     public void selectDarkMode() {
+        // Toggle, option and the class change in one script; the calls below are the fallback
+        if (BatchedActions.pickFromMenu(driver, themeToggleButton, darkModeOption, darkThemeApplied, Duration.ofSeconds(10)).ok) return;
         safeClickThemeToggleWithRetry();
-        WebElement dark = wait.until(ExpectedConditions.elementToBeClickable(darkModeOption));
+        WebElement dark = wait.until("theme.darkOption", ExpectedConditions.elementToBeClickable(darkModeOption));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", dark);
-        wait.until(driver -> isDarkModeActive());
+        wait.until("theme.darkApplied", driver -> isDarkModeActive());
     }
 
     public void selectLightMode() {
+        // Toggle, option and the class change in one script; the calls below are the fallback
+        if (BatchedActions.pickFromMenu(driver, themeToggleButton, lightModeOption, lightThemeApplied, Duration.ofSeconds(10)).ok) return;
         safeClickThemeToggleWithRetry();
-        WebElement light = wait.until(ExpectedConditions.elementToBeClickable(lightModeOption));
+        WebElement light = wait.until("theme.lightOption", ExpectedConditions.elementToBeClickable(lightModeOption));
         ((JavascriptExecutor) driver).executeScript("arguments[0].click();", light);
-        wait.until(driver -> isLightModeActive());
+        wait.until("theme.lightApplied", driver -> isLightModeActive());
     }
 
    
  // ====================== SEARCH + ASSERT ===========================
     public String searchSecondTaskIdInTableAndSearch() {
+        String taskId = secondTaskIdInTable();
+        searchTaskId(taskId);
+        return taskId;
+    }
+
+    public String secondTaskIdInTable() {
         By secondTaskIdCell = By.xpath("(//td[@data-slot='table-cell']//a)[2]");
-        String taskId = wait.until(ExpectedConditions.visibilityOfElementLocated(secondTaskIdCell)).getText().trim();
+        return wait.until("table.secondTaskId", ExpectedConditions.visibilityOfElementLocated(secondTaskIdCell)).getText().trim();
+    }
 
-        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+    // Types the ID and waits for it in the first row, without searchTaskId()'s reload and fixed
+    // pauses; for timing the search itself, e.g. under load
+    public void searchTaskIdUntilShown(String taskId) {
+        By firstRowIsTask = By.xpath("(//td[@data-slot='table-cell']//a)[1][normalize-space(.)='" + taskId + "']");
+        if (BatchedActions.setInput(driver, taskIdSearchBox, taskId, firstRowIsTask, null, Duration.ofSeconds(10)).ok) return;
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
         searchInput.clear();
         searchInput.sendKeys(taskId);
-        System.out.println("🔍 Searched for second Task ID: " + taskId);
+        wait.until("search.firstRowIsTask", ExpectedConditions.presenceOfElementLocated(firstRowIsTask));
+    }
+
+    // Searches for a task ID the caller already knows, e.g. one seeded through TaskFixtures
+    @MaxDuration(5000)
+    public void searchTaskId(String taskId) {
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        searchInput.clear();
+        searchInput.sendKeys(taskId);
+        System.out.println("🔍 Searched for Task ID: " + taskId);
 
         // Step 1: Wait 1 second after sending input
         try {
@@ -147,8 +205,6 @@ public class ScribeDashboardPage {
         try {
             Thread.sleep(1000);
         } catch (InterruptedException ignored) {}
-
-        return taskId;
     }
 
 
@@ -158,7 +214,7 @@ public class ScribeDashboardPage {
 
         for (int i = 1; i <= 3; i++) {
             try {
-                WebElement cell = wait.until(ExpectedConditions.visibilityOfElementLocated(firstTaskIdCell));
+                WebElement cell = wait.until("table.firstTaskId", ExpectedConditions.visibilityOfElementLocated(firstTaskIdCell));
                 String actual = cell.getText().trim();
 
                 if (actual.equals(expectedTaskId)) {
@@ -179,7 +235,16 @@ public class ScribeDashboardPage {
     }
 
     public void clearTaskIdSearchBoxWithWait() {
-        WebElement searchInput = wait.until(ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        // One script sets "" with React's input/change events and waits for the table to re-render; the loop below is the fallback
+        if (BatchedActions.clearInput(driver, taskIdSearchBox, taskTableBody, Duration.ofSeconds(10)).ok) {
+            System.out.println("🧹 Search box cleared and table loaded.");
+            return;
+        }
+
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        boolean wasEmpty = searchInput.getAttribute("value").isEmpty();
+        WebElement tableBefore = firstOrNull(taskTableBody);
+        String rowsBefore = tableBefore == null ? null : tableBefore.getText();
         boolean cleared = false;
 
         for (int i = 0; i < 5; i++) {
@@ -200,10 +265,9 @@ public class ScribeDashboardPage {
             throw new RuntimeException("❌ Could not clear Task ID search box after retries.");
         }
 
-        // Wait for table to repopulate after clearing search
-        By rowLocator = By.xpath("//table//tbody//tr");
+        // Wait for table to repopulate after clearing search; rows of the old search don't count
         try {
-            wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(rowLocator, 0));
+            wait.until(wasEmpty ? "table.rowsLoaded" : "table.reloadedAfterClear", tableChangedFrom(wasEmpty ? null : tableBefore, rowsBefore));
         } catch (Exception e) {
             System.out.println("⚠️ Table did not reload after clearing search. Continuing anyway.");
         }
@@ -214,42 +278,53 @@ public class ScribeDashboardPage {
 
     // ====================== FILTERS ===========================
 
-    public void applyFirstStatusFilterAndVerify() {
+    public String applyFirstStatusFilterAndVerify() {
         clearTaskIdSearchBoxWithWait();
-        wait.until(ExpectedConditions.elementToBeClickable(statusFilterButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(statusOptionsGroup));
-        WebElement option = wait.until(ExpectedConditions.visibilityOfElementLocated(firstStatusOption));
+        wait.until("filter.statusButton", ExpectedConditions.elementToBeClickable(statusFilterButton)).click();
+        wait.until("filter.statusOptions", ExpectedConditions.presenceOfElementLocated(statusOptionsGroup));
+        WebElement option = wait.until("filter.statusOption", ExpectedConditions.visibilityOfElementLocated(firstStatusOption));
         String selectedStatus = option.findElement(By.cssSelector("span.truncate")).getText().trim();
         option.click();
         By statusCell = By.xpath("(//table//tbody/tr)[1]/td[4]//span[contains(@class,'capitalize')]");
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(statusCell, selectedStatus));
+        wait.until("filter.statusApplied", ExpectedConditions.textToBePresentInElementLocated(statusCell, selectedStatus));
+        return selectedStatus;
+    }
+
+    // Checks every row on every page, not just the first one
+    public TaskTableScanner.Result verifyAllRowsHaveStatus(String status) {
+        return new TaskTableScanner(driver).verifyColumnContains(4, "Status", status);
     }
 
     public void clearStatusFilter() {
-        wait.until(ExpectedConditions.elementToBeClickable(clearStatusFilterButton)).click();
+        wait.until("filter.clearStatus", ExpectedConditions.elementToBeClickable(clearStatusFilterButton)).click();
     }
 
-    public void applyPriorityFilterAndVerify() {
+    public String applyPriorityFilterAndVerify() {
         clearTaskIdSearchBoxWithWait();
-        wait.until(ExpectedConditions.elementToBeClickable(priorityFilterButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(priorityOptionsGroup));
-        WebElement option = wait.until(ExpectedConditions.visibilityOfElementLocated(secondPriorityOption));
+        wait.until("filter.priorityButton", ExpectedConditions.elementToBeClickable(priorityFilterButton)).click();
+        wait.until("filter.priorityOptions", ExpectedConditions.presenceOfElementLocated(priorityOptionsGroup));
+        WebElement option = wait.until("filter.priorityOption", ExpectedConditions.visibilityOfElementLocated(secondPriorityOption));
         String selectedPriority = option.findElement(By.cssSelector("span.truncate")).getText().trim();
         option.click();
         By priorityCell = By.xpath("(//table//tbody/tr)[1]/td[5]//span[contains(@class,'capitalize')]");
-        wait.until(ExpectedConditions.textToBePresentInElementLocated(priorityCell, selectedPriority));
+        wait.until("filter.priorityApplied", ExpectedConditions.textToBePresentInElementLocated(priorityCell, selectedPriority));
+        return selectedPriority;
+    }
+
+    public TaskTableScanner.Result verifyAllRowsHavePriority(String priority) {
+        return new TaskTableScanner(driver).verifyColumnContains(5, "Priority", priority);
     }
 
     public void clearPriorityFilter() {
-        wait.until(ExpectedConditions.elementToBeClickable(clearPriorityFilterButton)).click();
+        wait.until("filter.clearPriority", ExpectedConditions.elementToBeClickable(clearPriorityFilterButton)).click();
     }
 
     // ====================== COLUMN VISIBILITY ===========================
 
     public void toggleTaskIdColumnVisibility() {
-        wait.until(ExpectedConditions.elementToBeClickable(viewButton)).click();
-        wait.until(ExpectedConditions.presenceOfElementLocated(columnOptionsGroup));
-        WebElement firstOption = wait.until(ExpectedConditions.elementToBeClickable(firstViewOption));
+        wait.until("columns.viewButton", ExpectedConditions.elementToBeClickable(viewButton)).click();
+        wait.until("columns.options", ExpectedConditions.presenceOfElementLocated(columnOptionsGroup));
+        WebElement firstOption = wait.until("columns.firstOption", ExpectedConditions.elementToBeClickable(firstViewOption));
         firstOption.click();
     }
 
@@ -272,6 +347,7 @@ public class ScribeDashboardPage {
             System.out.println("✅ Task ID column already visible.");
         }
     }
+    @MaxDuration(5000)
     public void applyAscendingSortOnTaskId() {
         try {
             System.out.println("🟡 Applying ascending sort on Task ID...");
@@ -282,10 +358,19 @@ public class ScribeDashboardPage {
             By sortButtonLocator = By.xpath("//button[contains(., 'Task #') and @aria-haspopup='menu']");
             By menuLocator = By.xpath("//div[@role='menu']");
             By ascOption = By.xpath("//div[@role='menuitemcheckbox' and contains(., 'Asc')]");
-            By rowLocator = By.xpath("//table//tbody/tr");
+
+            // Open the menu, pick Asc and wait for the table to re-render in one script; the clicks below are the fallback
+            BatchedActions.Result batched = BatchedActions.pickFromMenuUntilChanged(driver, sortButtonLocator, ascOption, taskTableBody, Duration.ofSeconds(10));
+            if (batched.ok) {
+                // unchanged: Asc is checked but the rows were already ascending, so nothing re-rendered
+                System.out.println(batched.values.containsKey("alreadyChecked") ? "✅ Ascending sort already applied"
+                        : batched.values.containsKey("unchanged") ? "✅ Applied ascending sort; rows were already in order"
+                        : "⬆️ Applied ascending sort in one script");
+                return;
+            }
 
             // Click the sort button
-            WebElement sortButton = wait.until(ExpectedConditions.elementToBeClickable(sortButtonLocator));
+            WebElement sortButton = wait.until("sort.button", ExpectedConditions.elementToBeClickable(sortButtonLocator));
             ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", sortButton);
             Thread.sleep(300);
 
@@ -302,12 +387,12 @@ public class ScribeDashboardPage {
                 }
 
                 try {
-                    wait.until(ExpectedConditions.visibilityOfElementLocated(menuLocator));
+                    wait.until("sort.menu", ExpectedConditions.visibilityOfElementLocated(menuLocator));
                     menuAppeared = true;
                     break;
                 } catch (Exception e) {
                     System.out.println("🔁 Dropdown not visible yet, retrying...");
-                    sortButton = wait.until(ExpectedConditions.elementToBeClickable(sortButtonLocator));
+                    sortButton = wait.until("sort.button", ExpectedConditions.elementToBeClickable(sortButtonLocator));
                     Thread.sleep(500);
                 }
             }
@@ -320,7 +405,7 @@ public class ScribeDashboardPage {
 
             // Click 'Ascending' option
             WebElement ascItem = null;
-            List<WebElement> options = wait.until(ExpectedConditions.presenceOfAllElementsLocatedBy(ascOption));
+            List<WebElement> options = wait.until("sort.ascOptions", ExpectedConditions.presenceOfAllElementsLocatedBy(ascOption));
 
             for (WebElement el : options) {
                 try {
@@ -335,37 +420,65 @@ public class ScribeDashboardPage {
                 throw new RuntimeException("❌ 'Asc' option not found in dropdown");
             }
 
+            // Clicking a checked Asc would turn the sort off again
+            if (isChecked(ascItem)) {
+                new Actions(driver).sendKeys(Keys.ESCAPE).perform();
+                System.out.println("✅ Ascending sort already applied");
+                return;
+            }
+
+            WebElement tableBefore = firstOrNull(taskTableBody);
+            String rowsBefore = tableBefore == null ? null : tableBefore.getText();
             try {
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", ascItem);
                 System.out.println("⬆️ Clicked 'Ascending' sort option");
             } catch (StaleElementReferenceException e) {
                 System.out.println("⚠️ Asc element stale, retrying...");
-                WebElement retryAsc = wait.until(ExpectedConditions.elementToBeClickable(ascOption));
+                WebElement retryAsc = wait.until("sort.ascOption", ExpectedConditions.elementToBeClickable(ascOption));
                 ((JavascriptExecutor) driver).executeScript("arguments[0].click();", retryAsc);
             }
 
-            // Wait for rows to update
-            boolean rowsUpdated = false;
-            for (int i = 0; i < 5; i++) {
-                List<WebElement> rows = driver.findElements(rowLocator);
-                if (!rows.isEmpty()) {
-                    System.out.println("✅ Rows visible after sorting. Count: " + rows.size());
-                    rowsUpdated = true;
-                    break;
-                }
-                Thread.sleep(1000);
-            }
+            // Wait for the table to re-render with the sorted rows
+            waitForSortToApply(sortButtonLocator, ascOption, tableBefore, rowsBefore);
 
-            if (!rowsUpdated) {
+        } catch (Exception e) {
+            throw new RuntimeException("❌ Failed to apply ascending sort: " + e.getMessage(), e);
+        }
+    }
+
+    // The table re-rendered, or (rows already in that order) the Asc item now shows as checked
+    private void waitForSortToApply(By sortButton, By ascOption, WebElement tableBefore, String rowsBefore) {
+        try {
+            wait.until("sort.tableChanged", tableChangedFrom(tableBefore, rowsBefore));
+            System.out.println("✅ Table re-rendered after sorting.");
+        } catch (TimeoutException e) {
+            if (!BatchedActions.isMenuItemChecked(driver, sortButton, ascOption, Duration.ofSeconds(5))) {
                 throw new RuntimeException("❌ Table did not update after ascending sort.");
             }
+            System.out.println("✅ Asc is checked; rows were already in ascending order.");
+        }
+    }
 
-            // ⏸️ Add short wait before verifying
-            Thread.sleep(1000);
+    private WebElement firstOrNull(By locator) {
+        List<WebElement> found = driver.findElements(locator);
+        return found.isEmpty() ? null : found.get(0);
+    }
 
-        } catch (Exception e) {
-            throw new RuntimeException("❌ Failed to apply ascending sort: " + e.getMessage(), e);
-        }
+    // Rows are back and the tbody was replaced, or kept with different rows. Counting rows alone
+    // is already true before the app reacts, so it would race the re-render.
+    private ExpectedCondition<Boolean> tableChangedFrom(WebElement tbody, String text) {
+        return d -> {
+            if (d.findElements(By.xpath("//table//tbody/tr")).isEmpty()) return false;
+            try {
+                return tbody == null || !tbody.getText().equals(text);
+            } catch (StaleElementReferenceException e) {
+                return true;
+            }
+        };
+    }
+
+    private static boolean isChecked(WebElement menuItem) {
+        return "true".equals(menuItem.getAttribute("aria-checked")) || "checked".equals(menuItem.getAttribute("data-state"));
     }
 
     public void verifyTaskIdsInAscendingOrder() {
@@ -373,7 +486,7 @@ public class ScribeDashboardPage {
 
         for (int attempt = 1; attempt <= 3; attempt++) {
             try {
-                wait.until(ExpectedConditions.numberOfElementsToBeMoreThan(rowLocator, 1));
+                wait.until("table.rowsSorted", ExpectedConditions.numberOfElementsToBeMoreThan(rowLocator, 1));
                 List<WebElement> rows = driver.findElements(rowLocator);
                 System.out.println("🔍 Total table rows found: " + rows.size());
 
@@ -419,6 +532,114 @@ public class ScribeDashboardPage {
         throw new AssertionError("❌ Task IDs not in ascending order after retries.");
     }
 
+    // Streams through every page of the table, comparing each page's first row with the last one seen
+    public TaskTableScanner.Result verifyAllTaskIdsInAscendingOrder() {
+        return new TaskTableScanner(driver).verifyAscendingTaskIds();
+    }
+
+    // Just these tasks (e.g. the seeded ones) in this order, on whichever pages they land
+    public TaskTableScanner.Result verifyTaskIdsInOrder(List<String> taskIds) {
+        return new TaskTableScanner(driver).verifyTaskIdsInOrder(taskIds);
+    }
+
+    // ====================== NEW TASK WATCH ===========================
+    // Notices a given task arriving on the open dashboard without reloading it: a MutationObserver
+    // in the page remembers the task numbers shown when the watch starts and timestamps any other
+    // that appears, and awaitTask() picks out the one the caller is waiting for, so somebody
+    // else's new task doesn't count. If the app only refetches on focus, nudgeMs > 0 fires a
+    // focus/visibility event that often, in the page, instead of the test refreshing the table.
+
+    private static final String WATCH_TASKS =
+            "var w = window.__ezyTaskWatch;"
+            + "if (w) { w.observer.disconnect(); clearInterval(w.nudge); }"
+            + "var ids = function () { var out = [];"
+            + "  document.querySelectorAll('table tbody tr').forEach(function (r) {"
+            + "    var a = r.querySelector('a'); if (a && a.textContent.trim()) out.push(a.textContent.trim()); });"
+            + "  return out; };"
+            + "w = window.__ezyTaskWatch = { known: {}, seen: {}, waiter: null };"
+            + "ids().forEach(function (id) { w.known[id] = true; });"
+            + "w.observer = new MutationObserver(function () {"
+            + "  ids().forEach(function (id) {"
+            + "    if (w.known[id]) return;"
+            + "    w.known[id] = true;"
+            + "    w.seen[id] = Date.now();"
+            + "    if (w.waiter && w.waiter.id === id) { var done = w.waiter.done; w.waiter = null; done({ id: id, at: w.seen[id] }); }"
+            + "  }); });"
+            + "w.observer.observe(document.body, { childList: true, subtree: true, characterData: true });"
+            + "if (arguments[0] > 0) w.nudge = setInterval(function () {"
+            + "  window.dispatchEvent(new Event('focus')); document.dispatchEvent(new Event('visibilitychange')); }, arguments[0]);"
+            + "return Object.keys(w.known).length;";
+
+    // args: task number, timeout ms
+    private static final String AWAIT_TASK =
+            "var done = arguments[arguments.length - 1], w = window.__ezyTaskWatch, id = arguments[0];"
+            + "if (!w) { done(null); return; }"
+            + "if (w.seen[id]) { done({ id: id, at: w.seen[id] }); return; }"
+            + "var timer = setTimeout(function () { w.waiter = null; done(null); }, arguments[1]);"
+            + "w.waiter = { id: id, done: function (task) { clearTimeout(timer); done(task); } };";
+
+    private boolean filteredToTask = false;
+
+    public static class NewTask {
+        public final String taskId;
+        // Browser clock (Date.now()) when the row appeared; the same clock as the JVM's when
+        // the browser runs on this machine
+        public final long seenAtMillis;
+        // Only showed once the table was filtered to it, so seenAtMillis is when the search
+        // rendered it, not when it reached the dashboard; not a propagation time
+        public final boolean viaSearch;
+
+        NewTask(String taskId, long seenAtMillis, boolean viaSearch) {
+            this.taskId = taskId;
+            this.seenAtMillis = seenAtMillis;
+            this.viaSearch = viaSearch;
+        }
+    }
+
+    // Starts (or restarts) the watch; tasks already on the table don't count as new
+    public int watchForNewTasks(long nudgeMs) {
+        waitForDashboardToLoad();
+        if (filteredToTask) {
+            clearTaskIdSearchBoxWithWait();
+            filteredToTask = false;
+        }
+        Object known = ((JavascriptExecutor) driver).executeScript(WATCH_TASKS, nudgeMs);
+        return known instanceof Number ? ((Number) known).intValue() : 0;
+    }
+
+    // When taskId appeared since watchForNewTasks(), or null if it didn't within timeout. If it
+    // isn't on the first page by now, the table is filtered down to it, so it is found wherever
+    // it would sort (the nudges keep refetching the filtered list); such a task is viaSearch.
+    public NewTask awaitTask(String taskId, Duration timeout) {
+        NewTask task = awaitInBrowser(taskId, Duration.ZERO, false);
+        if (task != null) return task;
+        filterToTask(taskId);
+        return awaitInBrowser(taskId, timeout, true);
+    }
+
+    // Types into the search box without the reload searchTaskId() does, which would end the watch
+    private void filterToTask(String taskId) {
+        filteredToTask = true;
+        if (BatchedActions.setInput(driver, taskIdSearchBox, taskId, null, null, Duration.ofSeconds(5)).ok) return;
+        WebElement searchInput = wait.until("dashboard.searchBoxClickable", ExpectedConditions.elementToBeClickable(taskIdSearchBox));
+        searchInput.clear();
+        searchInput.sendKeys(taskId);
+    }
+
+    // Blocks in the browser, not in a polling loop here
+    private NewTask awaitInBrowser(String taskId, Duration timeout, boolean viaSearch) {
+        Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+        driver.manage().timeouts().scriptTimeout(timeout.plusSeconds(5));
+        try {
+            Object task = ((JavascriptExecutor) driver).executeAsyncScript(AWAIT_TASK, taskId, timeout.toMillis());
+            if (!(task instanceof Map)) return null;
+            Map<?, ?> values = (Map<?, ?>) task;
+            return new NewTask(String.valueOf(values.get("id")), ((Number) values.get("at")).longValue(), viaSearch);
+        } finally {
+            driver.manage().timeouts().scriptTimeout(scriptTimeout);
+        }
+    }
+
 
 
 }
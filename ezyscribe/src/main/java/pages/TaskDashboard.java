@@ -0,0 +1,54 @@
+package pages;
+
+import utils.TaskTableScanner;
+import utils.TaskUrlState;
+
+import java.util.List;
+
+// The /tasks dashboard actions shared by the doctor and scribe views
+public interface TaskDashboard {
+
+    void openTasks(TaskUrlState state);
+
+    void resetToTasks();
+
+    void refreshDashboard();
+
+    void waitForDashboardToLoad();
+
+    void clickResetFiltersIfPresent();
+
+    String searchSecondTaskIdInTableAndSearch();
+
+    String secondTaskIdInTable();
+
+    void searchTaskIdUntilShown(String taskId);
+
+    void searchTaskId(String taskId);
+
+    void assertFirstRowHasTaskId(String expectedTaskId);
+
+    void clearTaskIdSearchBoxWithWait();
+
+    String applyFirstStatusFilterAndVerify();
+
+    void clearStatusFilter();
+
+    String applyPriorityFilterAndVerify();
+
+    void clearPriorityFilter();
+
+    void toggleTaskIdColumnVisibility();
+
+    void applyAscendingSortOnTaskId();
+
+    void verifyTaskIdsInAscendingOrder();
+
+    TaskTableScanner.Result verifyAllRowsHaveStatus(String status);
+
+    TaskTableScanner.Result verifyAllRowsHavePriority(String priority);
+
+    TaskTableScanner.Result verifyAllTaskIdsInAscendingOrder();
+
+    TaskTableScanner.Result verifyTaskIdsInOrder(List<String> taskIds);
+}
@@ -0,0 +1,128 @@
+package pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import utils.AdaptiveWait;
+import utils.BatchedActions;
+import utils.TaskUrlState;
+import utils.TestConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+// One-navigation route to a dashboard state, shared by the doctor and scribe pages.
+// After loading the URL each part of the state is checked against the app's own controls (the
+// search box's value, the filter buttons' badges, the sort state) rather than the rows, which
+// can match by chance; whatever the app ignored is applied through the usual clicks instead, so
+// callers get the state either way. The app takes the URL state in at once, so all parts share
+// one url.applyTimeoutMs grace period instead of each ignored part waiting it out.
+class TaskDeepLink {
+
+    private static final By taskIdSearchBox = By.xpath("//input[@placeholder='Search task numbers...']");
+    private static final By taskIdColumnHeader = By.xpath("//th[.='Task ID']");
+    private static final By resetFiltersButton = By.xpath("//button[@aria-label='Reset filters' and normalize-space(text())='Reset']");
+    private static final By sortButton = By.xpath("//button[contains(., 'Task #') and @aria-haspopup='menu']");
+    private static final By ascOption = By.xpath("//div[@role='menuitemcheckbox' and contains(., 'Asc')]");
+    private static final By ascendingHeader = By.xpath("//th[@aria-sort='ascending' and .//button[contains(., 'Task #')]]");
+
+    private final WebDriver driver;
+    private final AdaptiveWait wait;
+    private final TaskDashboard page;
+    private long applyDeadline;
+
+    TaskDeepLink(WebDriver driver, AdaptiveWait wait, TaskDashboard page) {
+        this.driver = driver;
+        this.wait = wait;
+        this.page = page;
+    }
+
+    void open(TaskUrlState state) {
+        driver.navigate().to(state.url());
+        page.waitForDashboardToLoad();
+        applyDeadline = System.currentTimeMillis() + TestConfig.getLong("url.applyTimeoutMs", 3000);
+        List<String> clicked = new ArrayList<>();
+
+        // Sort first: its click path resets filters, which would undo the ones below
+        if (state.sortColumn() != null && !applied("deepLink.sort", d -> ascendingSortApplied())) {
+            page.applyAscendingSortOnTaskId();
+            clicked.add("sort");
+        }
+        if (state.search() != null && !applied("deepLink.search", d -> state.search().equals(searchBoxValue()))) {
+            page.searchTaskId(state.search());
+            clicked.add("search");
+        }
+        if (state.status() != null && !applied("deepLink.status", d -> filterShows("Status", state.status()))) {
+            pickFilterOption("Status", state.status());
+            clicked.add("status");
+        }
+        if (state.priority() != null && !applied("deepLink.priority", d -> filterShows("Priority", state.priority()))) {
+            pickFilterOption("Priority", state.priority());
+            clicked.add("priority");
+        }
+        if (!state.hiddenColumns().isEmpty() && !driver.findElements(taskIdColumnHeader).isEmpty()) {
+            // Only the Task ID column has a click path in the page objects
+            page.toggleTaskIdColumnVisibility();
+            clicked.add("hidden columns");
+        }
+
+        if (clicked.isEmpty()) {
+            System.out.println("🔗 Opened dashboard state by URL: " + state.url());
+        } else {
+            System.out.println("🔗 URL state partly ignored, applied by clicks: " + String.join(", ", clicked));
+        }
+    }
+
+    // Back to the unfiltered dashboard by URL; Reset is only clicked if the app kept
+    // filters somewhere the URL doesn't cover, such as local storage
+    void reset() {
+        driver.navigate().to(TestConfig.tasksUrl());
+        page.waitForDashboardToLoad();
+        if (!driver.findElements(resetFiltersButton).isEmpty()) {
+            page.clickResetFiltersIfPresent();
+        }
+    }
+
+    // Whatever is left of the shared grace period; once it is used up each check is a single look
+    private boolean applied(String name, Function<WebDriver, Boolean> condition) {
+        long remaining = applyDeadline - System.currentTimeMillis();
+        if (remaining <= 0) return Boolean.TRUE.equals(condition.apply(driver));
+        try {
+            return wait.until(name, condition, Duration.ofMillis(remaining));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    private void pickFilterOption(String filter, String value) {
+        By trigger = By.xpath("//button[@data-slot='popover-trigger' and contains(text(), '" + filter + "')]");
+        By option = By.xpath("//div[@role='option' and @cmdk-item='' and .//span[contains(@class,'truncate') and normalize-space()='" + value + "']]");
+        wait.until("filter." + filter.toLowerCase() + "Button", ExpectedConditions.elementToBeClickable(trigger)).click();
+        WebElement choice = wait.until("filter." + filter.toLowerCase() + "OptionByName", ExpectedConditions.elementToBeClickable(option));
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", choice);
+        wait.until("filter." + filter.toLowerCase() + "Applied", d -> filterShows(filter, value));
+    }
+
+    private String searchBoxValue() {
+        List<WebElement> inputs = driver.findElements(taskIdSearchBox);
+        return inputs.isEmpty() ? null : inputs.get(0).getAttribute("value");
+    }
+
+    // A filter button lists what it filters on as a badge next to its title once a value is selected
+    private boolean filterShows(String filter, String value) {
+        return !driver.findElements(By.xpath("//button[@data-slot='popover-trigger' and contains(text(), '" + filter + "')]"
+                + "//*[not(*) and normalize-space()='" + value.trim() + "']")).isEmpty();
+    }
+
+    // The app's own sort state rather than the row order, which may be ascending by default and
+    // would then count as applied without the URL having done anything
+    private boolean ascendingSortApplied() {
+        return !driver.findElements(ascendingHeader).isEmpty()
+                || BatchedActions.isMenuItemChecked(driver, sortButton, ascOption, Duration.ofSeconds(1));
+    }
+}
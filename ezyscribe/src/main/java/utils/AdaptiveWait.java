@@ -0,0 +1,199 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+// WebDriverWait whose timeout and polling are learned per named condition.
+// Every successful wait records how long it took; once a condition has enough history the
+// timeout becomes p99 * margin + padding (clamped to a floor and a hard cap), and polling
+// is scaled down for conditions that are usually met quickly.
+// Timeouts are not samples: a probe that is expected to time out would otherwise ratchet its
+// own limit up to the cap. A timeout only widens that condition by one bounded step for the
+// rest of the run (waits.timeoutStepMs), and is never written to the history.
+// History lives in a small properties file so it carries over between runs.
+public class AdaptiveWait {
+    private static final Logger log = LogManager.getLogger(AdaptiveWait.class);
+
+    private static final int MAX_SAMPLES = 100;
+    private static final double MARGIN = margin();
+    private static final Map<String, List<Long>> history = new HashMap<>();
+    private static final Map<String, Boolean> timedOut = new HashMap<>();
+    private static boolean loaded = false;
+
+    private final WebDriver driver;
+    private final Duration fallback;
+
+    public AdaptiveWait(WebDriver driver, Duration fallback) {
+        this.driver = driver;
+        this.fallback = fallback;
+    }
+
+    public <T> T until(String name, Function<? super WebDriver, T> condition) {
+        return until(name, condition, fallback);
+    }
+
+    // The fallback is used until the condition has enough history
+    public <T> T until(String name, Function<? super WebDriver, T> condition, Duration fallbackTimeout) {
+        // Throttled runs learn their own timings (see ThrottleProfile) and start from a wider fallback
+        ThrottleProfile profile = ThrottleProfile.current();
+        String key = ThrottleProfile.qualify(name);
+        Duration timeout = timeoutFor(key, Duration.ofMillis((long) (fallbackTimeout.toMillis() * profile.slowdown())));
+        WebDriverWait wait = new WebDriverWait(driver, timeout, pollingFor(key));
+        long start = System.nanoTime();
+        try {
+            T result = wait.until(condition);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            record(key, millis);
+            DurationTrends.recordStep(name, millis);
+            DomFixtures.recordAfterWait(driver, name);
+            return result;
+        } catch (TimeoutException e) {
+            synchronized (history) {
+                timedOut.put(key, Boolean.TRUE);
+            }
+            log.debug("Wait '{}' timed out after {} ms", key, timeout.toMillis());
+            throw e;
+        }
+    }
+
+    public static Duration timeoutFor(String name, Duration fallbackTimeout) {
+        long[] samples = samples(name);
+        if (samples.length < TestConfig.getInt("waits.minSamples", 20)) {
+            return fallbackTimeout;
+        }
+        long learned = (long) (percentile(samples, 0.99) * MARGIN) + TestConfig.getLong("waits.paddingMs", 500);
+        long floor = TestConfig.getLong("waits.minMs", 1000);
+        // A caller that asks for longer than the cap up front (a long upload) keeps that as its cap
+        long cap = Math.max(TestConfig.getLong("waits.maxMs", 60000), fallbackTimeout.toMillis());
+        long timeout = Math.min(cap, Math.max(floor, learned));
+        synchronized (history) {
+            // One step however often it timed out, so repeated misses can't climb to the cap
+            if (timedOut.containsKey(name)) timeout = Math.min(cap, timeout + TestConfig.getLong("waits.timeoutStepMs", 2000));
+        }
+        return Duration.ofMillis(timeout);
+    }
+
+    // Read once; a malformed or non-positive waits.margin falls back to 1.5 rather than failing every wait
+    private static double margin() {
+        String value = TestConfig.getString("waits.margin", "1.5");
+        try {
+            double margin = Double.parseDouble(value);
+            if (margin > 0) return margin;
+        } catch (NumberFormatException ignored) { }
+        log.warn("Ignoring waits.margin={}, using 1.5", value);
+        return 1.5;
+    }
+
+    public static Duration pollingFor(String name) {
+        long[] samples = samples(name);
+        if (samples.length == 0) return Duration.ofMillis(500);
+        long poll = percentile(samples, 0.5) / 4;
+        return Duration.ofMillis(Math.min(500, Math.max(50, poll)));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static long[] samples(String name) {
+        synchronized (history) {
+            loadIfNeeded();
+            List<Long> values = history.get(name);
+            if (values == null) return new long[0];
+            long[] sorted = new long[values.size()];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = values.get(i);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static void record(String name, long millis) {
+        synchronized (history) {
+            loadIfNeeded();
+            List<Long> values = history.get(name);
+            if (values == null) {
+                values = new ArrayList<>();
+                history.put(name, values);
+            }
+            values.add(millis);
+            if (values.size() > MAX_SAMPLES) values.remove(0);
+        }
+        log.debug("Wait '{}' took {} ms", name, millis);
+    }
+
+    private static Path historyFile() {
+        return Paths.get(TestConfig.getString("waits.historyFile", TestConfig.outputDir() + "/wait-history.properties"));
+    }
+
+    private static void loadIfNeeded() {
+        if (loaded) return;
+        loaded = true;
+        Path file = historyFile();
+        if (!Files.exists(file)) return;
+        Properties props = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            props.load(reader);
+        } catch (IOException e) {
+            log.warn("Could not read wait history {}: {}", file, e.getMessage());
+            return;
+        }
+        for (String name : props.stringPropertyNames()) {
+            List<Long> values = new ArrayList<>();
+            for (String value : props.getProperty(name).split(",")) {
+                try {
+                    values.add(Long.parseLong(value.trim()));
+                } catch (NumberFormatException ignored) { }
+            }
+            history.put(name, values);
+        }
+        log.info("Loaded wait history for {} conditions", history.size());
+    }
+
+    public static void saveHistory() {
+        Map<String, String> snapshot = new TreeMap<>();
+        synchronized (history) {
+            if (!loaded) return;
+            for (Map.Entry<String, List<Long>> entry : history.entrySet()) {
+                StringBuilder sb = new StringBuilder();
+                for (Long value : entry.getValue()) {
+                    if (sb.length() > 0) sb.append(',');
+                    sb.append(value);
+                }
+                snapshot.put(entry.getKey(), sb.toString());
+            }
+        }
+        Path file = historyFile();
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write("# name=duration ms of the last " + MAX_SAMPLES + " waits\n");
+                for (Map.Entry<String, String> entry : snapshot.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not save wait history {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+
+// Compound UI interactions run as one injected async script instead of a dozen WebDriver calls:
+// the script finds, scrolls, presses, polls for the next element and reports back a structured
+// result, all inside the page. Events are dispatched the way React and Radix listen for them
+// (pointer/mouse sequences, the native value setter plus input/change). Callers keep their
+// WebDriver path as the fallback for when the script reports a failure or
+// -Dezyscribe.actions.batched=false.
+public class BatchedActions {
+    private static final Logger log = LogManager.getLogger(BatchedActions.class);
+
+    private static final String HELPERS =
+            "var args = arguments, done = args[args.length - 1];"
+            + "function find(xp) { return document.evaluate(xp, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue; }"
+            + "function count(xp) { return document.evaluate(xp, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }"
+            + "function shown(el) { if (!el || !el.isConnected) return null;"
+            + "  var r = el.getBoundingClientRect(), s = getComputedStyle(el);"
+            + "  return r.width > 0 && r.height > 0 && s.visibility !== 'hidden' && !el.disabled ? el : null; }"
+            + "function press(el) { el.scrollIntoView({block: 'center'});"
+            + "  var r = el.getBoundingClientRect(), o = {bubbles: true, cancelable: true, view: window, button: 0,"
+            + "    clientX: r.left + r.width / 2, clientY: r.top + r.height / 2, pointerType: 'mouse', isPrimary: true};"
+            + "  if (window.PointerEvent) el.dispatchEvent(new PointerEvent('pointerdown', o));"
+            + "  el.dispatchEvent(new MouseEvent('mousedown', o));"
+            + "  if (window.PointerEvent) el.dispatchEvent(new PointerEvent('pointerup', o));"
+            + "  el.dispatchEvent(new MouseEvent('mouseup', o));"
+            + "  el.dispatchEvent(new MouseEvent('click', o)); }"
+            + "function setValue(el, value) {"
+            + "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true})); }"
+            + "var deadline = Date.now() + args[args.length - 2];"
+            + "function poll(test, then) {"
+            + "  (function tick() { var v = null; try { v = test(); } catch (e) {}"
+            + "    if (v) return then(v);"
+            + "    if (Date.now() > deadline) return then(null);"
+            + "    setTimeout(tick, 50); })(); }"
+            + "function fail(step) { done({ok: false, step: step}); }"
+            // The first match of xp, once it is a different node or its text differs from before;
+            // rows that were already there when the action started don't count as its result
+            + "function snapshot(xp) { var el = xp ? find(xp) : null; return {el: el, text: el ? el.textContent : null}; }"
+            + "function changed(xp, before) { var now = find(xp);"
+            + "  return now && (!before.el || !before.el.isConnected || now !== before.el || now.textContent !== before.text) ? now : null; }"
+            // Radix closes menus and popovers on Escape, so a half-done batch leaves no overlay behind
+            + "function dismiss() { (document.activeElement || document.body).dispatchEvent("
+            + "  new KeyboardEvent('keydown', {key: 'Escape', code: 'Escape', bubbles: true, cancelable: true})); }"
+            + "function isChecked(el) { return el.getAttribute('aria-checked') === 'true' || el.getAttribute('data-state') === 'checked'; }"
+            // Whether the item is checked now: read off the open menu, or by opening it again when the
+            // pick closed it. Gets a short deadline of its own, the batch's may already be spent
+            + "function readChecked(triggerXp, itemXp, item, then) {"
+            + "  deadline = Date.now() + 2000;"
+            + "  if (shown(item)) { var checked = isChecked(item); dismiss(); return then(checked); }"
+            + "  var trigger = shown(find(triggerXp));"
+            + "  if (!trigger) return then(false);"
+            + "  press(trigger);"
+            + "  poll(function () { return shown(find(itemXp)); }, function (again) {"
+            + "    var checked = !!again && isChecked(again);"
+            + "    dismiss(); then(checked);"
+            + "  }); }";
+
+    // args: input xpath, value, xpath that must match once the app has reacted, xpath that must
+    // change (see changed()), timeout ms for the whole batch. A value that is already there
+    // changes nothing, so then only the first xpath is waited for.
+    private static final String SET_INPUT = HELPERS
+            + "poll(function () { return shown(find(args[0])); }, function (input) {"
+            + "  if (!input) return fail('input');"
+            + "  var unchanged = input.value === args[1], before = snapshot(args[3]);"
+            + "  input.focus(); setValue(input, args[1]);"
+            + "  poll(function () { return input.value === args[1] && (!args[2] || count(args[2]) > 0)"
+            + "      && (!args[3] || (unchanged ? count(args[3]) > 0 : changed(args[3], before))); }, function (ok) {"
+            + "    if (!ok) return fail(input.value === args[1] ? 'settle' : 'value');"
+            + "    done({ok: true, value: input.value, matches: args[2] ? count(args[2]) : 0});"
+            + "  });"
+            + "});";
+
+    // args: trigger xpath, option xpath, xpath that must match afterwards (may be null), xpath that
+    // must change (may be null), timeout ms for the whole batch. A checkbox item that is already
+    // checked isn't pressed, since that would undo it; the menu is just closed again. A pick that
+    // changes nothing (Asc on rows that were already ascending) still counts once the item reads
+    // as checked afterwards, reported as unchanged.
+    private static final String PICK_FROM_MENU = HELPERS
+            + "poll(function () { return shown(find(args[0])); }, function (trigger) {"
+            + "  if (!trigger) return fail('trigger');"
+            + "  press(trigger);"
+            + "  var pressedAgain = false, retryAt = Date.now() + (deadline - Date.now()) / 3;"
+            + "  poll(function () {"
+            + "    var option = shown(find(args[1]));"
+            + "    if (!option && !pressedAgain && Date.now() > retryAt) { pressedAgain = true; press(trigger); }"
+            + "    return option;"
+            + "  }, function (option) {"
+            + "    if (!option) { dismiss(); return fail('option'); }"
+            + "    var text = option.textContent.trim();"
+            + "    if (isChecked(option)) { dismiss(); return done({ok: true, option: text, alreadyChecked: true}); }"
+            + "    var before = snapshot(args[3]);"
+            + "    press(option);"
+            + "    if (!args[2] && !args[3]) return done({ok: true, option: text});"
+            + "    poll(function () { return (!args[2] || count(args[2]) > 0) && (!args[3] || changed(args[3], before)); }, function (ok) {"
+            + "      if (ok) return done({ok: true, option: text});"
+            + "      readChecked(args[0], args[1], option, function (checked) {"
+            + "        if (!checked) return fail('settle');"
+            + "        done({ok: true, option: text, checked: true, unchanged: true});"
+            + "      });"
+            + "    });"
+            + "  });"
+            + "});";
+
+    // args: trigger xpath, item xpath, timeout ms for the whole batch. Opens the menu, reads whether
+    // the item is checked and closes it again without picking anything
+    private static final String READ_MENU_ITEM = HELPERS
+            + "poll(function () { return shown(find(args[0])); }, function (trigger) {"
+            + "  if (!trigger) return fail('trigger');"
+            + "  press(trigger);"
+            + "  poll(function () { return shown(find(args[1])); }, function (item) {"
+            + "    if (!item) { dismiss(); return fail('option'); }"
+            + "    var checked = isChecked(item);"
+            + "    dismiss();"
+            + "    done({ok: true, option: item.textContent.trim(), checked: checked});"
+            + "  });"
+            + "});";
+
+    public static class Result {
+        public final boolean ok;
+        // Which stage failed: input, value, trigger, option, settle; script for driver errors,
+        // disabled or locator when the batch was not attempted
+        public final String step;
+        public final Map<String, Object> values;
+        public final long millis;
+
+        Result(boolean ok, String step, Map<String, Object> values, long millis) {
+            this.ok = ok;
+            this.step = step;
+            this.values = values;
+            this.millis = millis;
+        }
+
+        public String value(String key) {
+            Object value = values.get(key);
+            return value == null ? null : String.valueOf(value);
+        }
+
+        @Override
+        public String toString() {
+            return (ok ? "ok" : "failed at " + step) + " in " + millis + " ms " + values;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("actions.batched", true);
+    }
+
+    // Clearing is setting "" and waiting for the table to be re-rendered with the unfiltered rows
+    // (a different tbody, or the same one with different content); an empty box only waits for it
+    public static Result clearInput(WebDriver driver, By input, By table, Duration timeout) {
+        return setInput(driver, input, "", null, table, timeout);
+    }
+
+    // settled must match afterwards, changed must be replaced or show different text; either may be null
+    public static Result setInput(WebDriver driver, By input, String value, By settled, By changed, Duration timeout) {
+        if (!isXpath(input) || !isXpathOrNull(settled) || !isXpathOrNull(changed)) return skipped("locator");
+        return run(driver, "setInput", SET_INPUT, xpathOf(input), value, xpathOf(settled), xpathOf(changed), timeout.toMillis());
+    }
+
+    // Opens a dropdown/popover, picks an option and waits for its effect, in one round-trip.
+    // settled is a state that holds once the pick took effect (e.g. the dark theme class)
+    public static Result pickFromMenu(WebDriver driver, By trigger, By option, By settled, Duration timeout) {
+        return pickFromMenu(driver, trigger, option, settled, null, timeout);
+    }
+
+    // For picks whose only visible effect is new content, e.g. a sort re-rendering the table
+    public static Result pickFromMenuUntilChanged(WebDriver driver, By trigger, By option, By changed, Duration timeout) {
+        return pickFromMenu(driver, trigger, option, null, changed, timeout);
+    }
+
+    private static Result pickFromMenu(WebDriver driver, By trigger, By option, By settled, By changed, Duration timeout) {
+        if (!isXpath(trigger) || !isXpath(option) || !isXpathOrNull(settled) || !isXpathOrNull(changed)) return skipped("locator");
+        return run(driver, "pickFromMenu", PICK_FROM_MENU, xpathOf(trigger), xpathOf(option), xpathOf(settled),
+                xpathOf(changed), timeout.toMillis());
+    }
+
+    // Whether a checkbox item in a menu is checked (e.g. the Asc item of a column's sort menu);
+    // false when the menu or item can't be found as well
+    public static boolean isMenuItemChecked(WebDriver driver, By trigger, By item, Duration timeout) {
+        if (!isXpath(trigger) || !isXpath(item)) return false;
+        Result result = run(driver, "readMenuItem", READ_MENU_ITEM, xpathOf(trigger), xpathOf(item), timeout.toMillis());
+        return result.ok && Boolean.TRUE.equals(result.values.get("checked"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Result run(WebDriver driver, String name, String script, Object... args) {
+        long start = System.currentTimeMillis();
+        if (!isEnabled() || !(driver instanceof JavascriptExecutor)) return skipped("disabled");
+        try {
+            Map<String, Object> values = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(script, args);
+            boolean ok = values != null && Boolean.TRUE.equals(values.get("ok"));
+            Result result = new Result(ok, ok ? null : values == null ? "script" : String.valueOf(values.get("step")),
+                    values == null ? Collections.<String, Object>emptyMap() : values, System.currentTimeMillis() - start);
+            if (ok) {
+                log.debug("Batched {} {}", name, result);
+            } else {
+                log.info("Batched {} {}; falling back to WebDriver calls", name, result);
+            }
+            return result;
+        } catch (WebDriverException e) {
+            log.info("Batched {} script failed ({}); falling back to WebDriver calls", name, e.getClass().getSimpleName());
+            return new Result(false, "script", Collections.<String, Object>emptyMap(), System.currentTimeMillis() - start);
+        }
+    }
+
+    private static Result skipped(String step) {
+        return new Result(false, step, Collections.<String, Object>emptyMap(), 0);
+    }
+
+    // The scripts evaluate XPath only; other locator kinds stay on the WebDriver path
+    private static boolean isXpath(By locator) {
+        return locator.toString().startsWith("By.xpath: ");
+    }
+
+    private static boolean isXpathOrNull(By locator) {
+        return locator == null || isXpath(locator);
+    }
+
+    private static String xpathOf(By locator) {
+        return locator == null ? null : locator.toString().substring("By.xpath: ".length());
+    }
+}
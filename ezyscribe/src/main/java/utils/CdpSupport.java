@@ -0,0 +1,52 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Thin, version-agnostic access to Chrome DevTools Protocol.
+// Commands go through chromedriver's HTTP endpoint; events need the DevTools websocket,
+// which Selenium keeps as one shared connection per driver.
+public class CdpSupport {
+
+    public static boolean isSupported(WebDriver driver) {
+        return driver instanceof HasCdp && driver instanceof HasDevTools;
+    }
+
+    public static Map<String, Object> send(WebDriver driver, String method, Map<String, Object> params) {
+        return ((HasCdp) driver).executeCdpCommand(method, params == null ? Collections.emptyMap() : params);
+    }
+
+    public static Map<String, Object> send(WebDriver driver, String method) {
+        return send(driver, method, null);
+    }
+
+    public static DevTools devTools(WebDriver driver) {
+        DevTools devTools = ((HasDevTools) driver).getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+        return devTools;
+    }
+
+    // Sends over the websocket session; use this for domains whose events we listen to,
+    // since CDP only delivers events to the session that enabled them
+    public static Map<String, Object> send(DevTools devTools, String method, Map<String, Object> params) {
+        return devTools.send(new Command<Map<String, Object>>(method,
+                params == null ? Collections.emptyMap() : params, Json.MAP_TYPE));
+    }
+
+    public static void sendNoWait(DevTools devTools, String method, Map<String, Object> params) {
+        devTools.send(new Command<Void>(method, params).doesNotSendResponse());
+    }
+
+    public static void listen(DevTools devTools, String event, Consumer<Map<String, Object>> handler) {
+        devTools.addListener(new Event<Map<String, Object>>(event, input -> input.read(Json.MAP_TYPE)), handler);
+    }
+}
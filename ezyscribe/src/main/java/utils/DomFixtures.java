@@ -0,0 +1,189 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.w3c.dom.NodeList;
+
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Recorded DOM snapshots of the app, and locator evaluation against them without a browser.
+// With -Dezyscribe.dom.record=true every named wait that succeeds saves the page as
+// <fixtureDir>/<PageClass>/<waitName>.html (once per run), so the snapshots hold exactly the
+// states the page objects look for: open menus, popovers, the review dialog, and so on.
+public class DomFixtures {
+    private static final Logger log = LogManager.getLogger(DomFixtures.class);
+    private static final Set<String> recorded = Collections.synchronizedSet(new HashSet<String>());
+
+    private static final String OUTER_HTML =
+            "return (document.doctype ? '<!DOCTYPE html>\\n' : '') + document.documentElement.outerHTML;";
+
+    public static Path fixtureDir() {
+        return Paths.get(TestConfig.getString("dom.fixtureDir", "src/test/resources/dom-fixtures"));
+    }
+
+    public static boolean isRecording() {
+        return TestConfig.getBoolean("dom.record", false);
+    }
+
+    // Called after a named wait succeeds; the scope is the page object that asked for it
+    public static void recordAfterWait(WebDriver driver, String waitName) {
+        if (!isRecording() || !(driver instanceof JavascriptExecutor)) return;
+        String scope = callingPage();
+        if (scope == null || !recorded.add(scope + "/" + waitName)) return;
+        record(driver, scope, waitName);
+    }
+
+    public static Path record(WebDriver driver, String scope, String name) {
+        Path file = fixtureDir().resolve(scope).resolve(name.replaceAll("[^A-Za-z0-9_.-]", "_") + ".html");
+        try {
+            String html = (String) ((JavascriptExecutor) driver).executeScript(OUTER_HTML);
+            Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.getParent(), "dom", ".tmp");
+            Files.write(tmp, html.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Recorded DOM fixture {}", file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not record DOM fixture {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String callingPage() {
+        for (StackTraceElement frame : new Throwable().getStackTrace()) {
+            if (frame.getClassName().startsWith("pages.")) {
+                String name = frame.getClassName().substring("pages.".length());
+                int inner = name.indexOf('$');
+                return inner < 0 ? name : name.substring(0, inner);
+            }
+        }
+        return null;
+    }
+
+    // Fixture files recorded for a page class, sorted by name
+    public static List<Path> fixturesFor(String scope) throws IOException {
+        Path dir = fixtureDir().resolve(scope);
+        List<Path> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return result;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(p -> p.toString().endsWith(".html")).sorted().forEach(result::add);
+        }
+        return result;
+    }
+
+    public static Fixture load(Path file) throws IOException {
+        return new Fixture(file, Jsoup.parse(file.toFile(), StandardCharsets.UTF_8.name()));
+    }
+
+    // One parsed snapshot; the W3C view for XPath is built on first use
+    public static class Fixture {
+        public final Path path;
+        public final Document document;
+        private org.w3c.dom.Document w3c;
+
+        Fixture(Path path, Document document) {
+            this.path = path;
+            this.document = document;
+        }
+
+        public String name() {
+            return path.getFileName().toString().replace(".html", "");
+        }
+
+        // Number of elements the locator finds; kind is the By factory name (xpath, cssSelector, id, ...)
+        public int count(String kind, String expression) {
+            switch (kind) {
+                case "xpath":
+                    return countXpath(expression);
+                case "cssSelector":
+                case "css":
+                    return document.select(expression).size();
+                case "id":
+                    return document.select("[id=" + quote(expression) + "]").size();
+                case "name":
+                    return document.select("[name=" + quote(expression) + "]").size();
+                case "className":
+                    return document.getElementsByClass(expression).size();
+                case "tagName":
+                    return document.getElementsByTag(expression).size();
+                case "linkText":
+                    int exact = 0;
+                    for (Element link : document.select("a")) {
+                        if (link.text().trim().equals(expression)) exact++;
+                    }
+                    return exact;
+                case "partialLinkText":
+                    return document.select("a:contains(" + expression + ")").size();
+                default:
+                    throw new IllegalArgumentException("Unsupported locator kind: " + kind);
+            }
+        }
+
+        private int countXpath(String expression) {
+            if (w3c == null) {
+                // Selenium's XPath sees HTML elements without a namespace; so must we
+                w3c = new W3CDom().namespaceAware(false).fromJsoup(document);
+            }
+            try {
+                NodeList nodes = (NodeList) XPathFactory.newInstance().newXPath()
+                        .evaluate(expression, w3c, XPathConstants.NODESET);
+                return nodes.getLength();
+            } catch (XPathExpressionException e) {
+                throw new IllegalArgumentException("Invalid XPath: " + expression, e);
+            }
+        }
+
+        // The same row view TaskTableScanner reads in the browser: task link text, then each cell;
+        // the "No results" placeholder row (no link, one cell) is skipped there too
+        public List<List<String>> tableRows() {
+            List<List<String>> rows = new ArrayList<>();
+            for (Element tr : document.select("table tbody tr")) {
+                List<String> row = new ArrayList<>();
+                Element link = tr.selectFirst("a");
+                if (link == null && tr.select("td").size() <= 1) continue;
+                row.add(link == null ? "" : link.text().trim());
+                for (Element td : tr.select("> td")) row.add(td.text().trim());
+                rows.add(row);
+            }
+            return rows;
+        }
+
+        private static String quote(String value) {
+            return "\"" + value.replace("\"", "\\\"") + "\"";
+        }
+    }
+
+    // Syntax check without any document, so broken locators fail even before fixtures exist
+    public static void compile(String kind, String expression) {
+        try {
+            if ("xpath".equals(kind)) {
+                XPathFactory.newInstance().newXPath().compile(expression);
+            } else if ("cssSelector".equals(kind) || "css".equals(kind)) {
+                org.jsoup.select.QueryParser.parse(expression);
+            }
+        } catch (XPathExpressionException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + kind + " locator: " + expression
+                    + " (" + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()) + ")", e);
+        }
+    }
+}
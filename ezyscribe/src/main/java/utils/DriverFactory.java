@@ -1,18 +1,19 @@
 package utils;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.*;
 
 public class DriverFactory {
     protected WebDriver driver;
 
-    // Set up ChromeDriver once before all tests in the class
+    // Make sure the shared chromedriver service is up before the first test in the class;
+    // with driver.shared=false each session starts its own, so there is nothing to start here
     @BeforeClass
     public void setupClass() {
-        WebDriverManager.chromedriver().setup();
+        if (DriverServiceManager.isShared()) {
+            DriverServiceManager.getService();
+        }
     }
 
     // Launch browser before each test method
@@ -26,9 +27,9 @@ public class DriverFactory {
 //    	    options.addArguments("--no-sandbox");  // Useful for CI environments
 //    	    options.addArguments("--disable-dev-shm-usage");
     	    
-        driver = new ChromeDriver();
+        driver = DriverServiceManager.newChromeDriver(new ChromeOptions());
         driver.manage().window().maximize();
-        driver.get("https://appv2.ezyscribe.com/auth/login");
+        driver.get(TestConfig.loginUrl());
     }
 
     // Close browser after each test method
@@ -0,0 +1,201 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriverLogLevel;
+import org.openqa.selenium.net.PortProber;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// One chromedriver process for the whole suite.
+// The binary is resolved once, preferring a locally cached driver so runs work offline,
+// and every ChromeDriver session is created against the same long-lived service.
+public class DriverServiceManager {
+    private static final Logger log = LogManager.getLogger(DriverServiceManager.class);
+    private static final Pattern VERSION = Pattern.compile("(\\d+)(\\.\\d+)*");
+
+    private static SharedChromeDriverService service;
+    private static String driverPath;
+    private static boolean shutdownHookAdded = false;
+
+    public static ChromeDriver newChromeDriver(ChromeOptions options) {
+        Path profile = ProcessReaper.tagSession(options);
+        ChromeDriver driver;
+        if (!isShared()) {
+            // Its own chromedriver, stopped on quit(); the log path tags it for the reaper
+            ChromeDriverService dedicated = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(resolveDriverBinary()))
+                    .withLogFile(ProcessReaper.driverLog())
+                    .withLogLevel(ChromiumDriverLogLevel.WARNING)
+                    .build();
+            driver = new ChromeDriver(dedicated, options);
+        } else {
+            driver = new ChromeDriver(getService(), options);
+        }
+        ProcessReaper.register(driver, profile);
+        return driver;
+    }
+
+    // -Dezyscribe.driver.shared=false gives every session its own chromedriver instead
+    public static boolean isShared() {
+        return TestConfig.getBoolean("driver.shared", true);
+    }
+
+    public static synchronized ChromeDriverService getService() {
+        if (service != null && service.isRunning()) return service;
+        try {
+            int port = PortProber.findFreePort();
+            service = new SharedChromeDriverService(new File(resolveDriverBinary()), port);
+            long start = System.currentTimeMillis();
+            service.start();
+            log.info("Shared chromedriver started on {} in {} ms", service.getUrl(), System.currentTimeMillis() - start);
+            if (!shutdownHookAdded) {
+                Runtime.getRuntime().addShutdownHook(new Thread(DriverServiceManager::shutdown, "chromedriver-shutdown"));
+                shutdownHookAdded = true;
+            }
+            return service;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start chromedriver service", e);
+        }
+    }
+
+    public static synchronized void shutdown() {
+        if (service != null) {
+            service.shutdown();
+            log.info("Shared chromedriver stopped.");
+            service = null;
+        }
+    }
+
+    // Resolution order: explicit webdriver.chrome.driver, local driver cache, WebDriverManager download
+    public static synchronized String resolveDriverBinary() {
+        if (driverPath != null) return driverPath;
+
+        String explicit = System.getProperty(ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY);
+        if (explicit != null && new File(explicit).canExecute()) {
+            return driverPath = explicit;
+        }
+
+        String cacheDir = TestConfig.getString("driver.cacheDir",
+                System.getProperty("user.home") + File.separator + ".cache" + File.separator + "selenium");
+        String cached = findCachedDriver(Paths.get(cacheDir));
+        if (cached != null) {
+            log.info("Using cached chromedriver {}", cached);
+            return driverPath = cached;
+        }
+
+        log.info("No cached chromedriver found, resolving with WebDriverManager...");
+        WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir);
+        manager.setup();
+        return driverPath = manager.getDownloadedDriverPath();
+    }
+
+    private static String findCachedDriver(Path cacheDir) {
+        if (!Files.isDirectory(cacheDir)) return null;
+        String binaryName = System.getProperty("os.name").toLowerCase().contains("win") ? "chromedriver.exe" : "chromedriver";
+        List<Path> candidates = new ArrayList<>();
+        try (Stream<Path> files = Files.walk(cacheDir, 6)) {
+            files.filter(p -> p.getFileName().toString().equals(binaryName) && Files.isExecutable(p))
+                 .forEach(candidates::add);
+        } catch (IOException e) {
+            log.warn("Could not scan driver cache {}: {}", cacheDir, e.getMessage());
+            return null;
+        }
+        if (candidates.isEmpty()) return null;
+
+        // Newest driver first; if we know the installed Chrome major, only take a matching one
+        Collections.sort(candidates, (a, b) -> compareVersions(versionOf(b), versionOf(a)));
+        String chromeMajor = installedChromeMajor();
+        for (Path candidate : candidates) {
+            if (chromeMajor == null || versionOf(candidate).startsWith(chromeMajor + ".")) {
+                return candidate.toString();
+            }
+        }
+        return null;
+    }
+
+    // Cache layouts put the version in a parent directory, e.g. chromedriver/linux64/126.0.6478.126/
+    private static String versionOf(Path driver) {
+        for (Path dir = driver.getParent(); dir != null; dir = dir.getParent()) {
+            Matcher m = VERSION.matcher(dir.getFileName() == null ? "" : dir.getFileName().toString());
+            if (m.matches()) return m.group();
+        }
+        return "0";
+    }
+
+    private static int compareVersions(String a, String b) {
+        String[] pa = a.split("\\.");
+        String[] pb = b.split("\\.");
+        for (int i = 0; i < Math.max(pa.length, pb.length); i++) {
+            int va = i < pa.length ? Integer.parseInt(pa[i]) : 0;
+            int vb = i < pb.length ? Integer.parseInt(pb[i]) : 0;
+            if (va != vb) return Integer.compare(va, vb);
+        }
+        return 0;
+    }
+
+    private static String installedChromeMajor() {
+        for (String binary : new String[] {"google-chrome", "google-chrome-stable", "chromium", "chromium-browser"}) {
+            try {
+                Process process = new ProcessBuilder(binary, "--version").redirectErrorStream(true).start();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String line = reader.readLine();
+                    process.waitFor(5, TimeUnit.SECONDS);
+                    Matcher m = Pattern.compile("(\\d+)\\.\\d+").matcher(line == null ? "" : line);
+                    if (m.find()) return m.group(1);
+                }
+            } catch (IOException | InterruptedException ignored) {
+                // try the next binary name
+            }
+        }
+        return null;
+    }
+
+    // ChromeDriver stops its service on quit(); this one ignores that so the process outlives sessions
+    private static class SharedChromeDriverService extends ChromeDriverService {
+
+        SharedChromeDriverService(File executable, int port) throws IOException {
+            super(executable, port, Duration.ofSeconds(20), args(port), Collections.emptyMap());
+        }
+
+        private static List<String> args(int port) {
+            List<String> args = new ArrayList<>();
+            args.add("--port=" + port);
+            File log = ProcessReaper.driverLog();
+            if (log != null) {
+                args.add("--log-path=" + log.getAbsolutePath());
+                args.add("--log-level=WARNING");
+            }
+            return args;
+        }
+
+        @Override
+        public void stop() {
+            // Sessions come and go; the process is stopped by shutdown()
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+}
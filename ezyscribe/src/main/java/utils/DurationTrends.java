@@ -0,0 +1,220 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Per-test durations kept across runs, so a suite that is slowly getting slower shows up in
+// the report long before CI timeouts do. Each run adds one sample per passed test (and, with
+// -Dezyscribe.trends.steps=true, per named wait inside it) and is compared with the samples of
+// earlier runs: a test is flagged when it is slower than the median by more than
+// trends.sigma robust deviations (MAD) and by at least trends.minRatio and trends.minDeltaMs.
+// The history is a tab-separated file, one line per key: key, then run:millis pairs.
+public class DurationTrends {
+    private static final Logger log = LogManager.getLogger(DurationTrends.class);
+
+    private static final Map<String, List<long[]>> history = new HashMap<>();
+    private static final Map<String, Long> current = new LinkedHashMap<>();
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final long runId = System.currentTimeMillis() / 1000;
+    private static boolean loaded = false;
+
+    public static class Regression {
+        public final String key;
+        public final long millis;
+        public final long medianMillis;
+        public final double ratio;
+        public final int baselineRuns;
+
+        Regression(String key, long millis, long medianMillis, int baselineRuns) {
+            this.key = key;
+            this.millis = millis;
+            this.medianMillis = medianMillis;
+            this.ratio = millis / (double) Math.max(1, medianMillis);
+            this.baselineRuns = baselineRuns;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d ms vs median %d ms over %d runs (x%.2f)",
+                    key, millis, medianMillis, baselineRuns, ratio);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("trends", true);
+    }
+
+    // Steps recorded on this thread are filed under the test until the next startTest
+    public static void startTest(String key) {
+        currentTest.set(key);
+    }
+
+    public static void recordStep(String step, long millis) {
+        String test = currentTest.get();
+        if (test == null || !isEnabled() || !TestConfig.getBoolean("trends.steps", false)) return;
+        String key = test + "/" + step;
+        synchronized (current) {
+            Long sum = current.get(key);
+            current.put(key, sum == null ? millis : sum + millis);
+        }
+    }
+
+    // Records the test's duration and returns the regression, if this run is one
+    public static Regression recordTest(String key, long millis) {
+        if (!isEnabled()) return null;
+        synchronized (current) {
+            current.put(key, millis);
+        }
+        return check(key, millis);
+    }
+
+    public static Regression check(String key, long millis) {
+        long[] baseline = baseline(key);
+        if (baseline.length < TestConfig.getInt("trends.minRuns", 5)) return null;
+
+        long median = median(baseline);
+        long[] deviations = new long[baseline.length];
+        for (int i = 0; i < baseline.length; i++) deviations[i] = Math.abs(baseline[i] - median);
+        Arrays.sort(deviations);
+        // 1.4826 * MAD estimates the standard deviation without letting one slow run skew it
+        double sigma = 1.4826 * median(deviations);
+
+        double threshold = median + Double.parseDouble(TestConfig.getString("trends.sigma", "3")) * sigma;
+        double minRatio = Double.parseDouble(TestConfig.getString("trends.minRatio", "0.2"));
+        long minDelta = TestConfig.getLong("trends.minDeltaMs", 500);
+        if (millis > threshold && millis > median * (1 + minRatio) && millis - median >= minDelta) {
+            return new Regression(key, millis, median, baseline.length);
+        }
+        return null;
+    }
+
+    // Regressions among the steps recorded this run; tests are checked as they finish
+    public static List<Regression> stepRegressions() {
+        Map<String, Long> snapshot;
+        synchronized (current) {
+            snapshot = new TreeMap<>(current);
+        }
+        List<Regression> result = new ArrayList<>();
+        for (Map.Entry<String, Long> entry : snapshot.entrySet()) {
+            if (!entry.getKey().contains("/")) continue;
+            Regression regression = check(entry.getKey(), entry.getValue());
+            if (regression != null) result.add(regression);
+        }
+        return result;
+    }
+
+    // Typical duration from earlier runs, for planning; the fallback when there is no history yet
+    public static long typicalMillis(String key, long fallback) {
+        long[] baseline = baseline(key);
+        return baseline.length == 0 ? fallback : median(baseline);
+    }
+
+    private static long[] baseline(String key) {
+        synchronized (history) {
+            loadIfNeeded();
+            List<long[]> samples = history.get(key);
+            if (samples == null) return new long[0];
+            int window = TestConfig.getInt("trends.window", 20);
+            List<long[]> recent = samples.subList(Math.max(0, samples.size() - window), samples.size());
+            long[] sorted = new long[recent.size()];
+            for (int i = 0; i < sorted.length; i++) sorted[i] = recent.get(i)[1];
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    private static long median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static Path historyFile() {
+        return Paths.get(TestConfig.getString("trends.file", TestConfig.outputDir() + "/duration-trends.tsv"));
+    }
+
+    private static void loadIfNeeded() {
+        if (loaded) return;
+        loaded = true;
+        Path file = historyFile();
+        if (!Files.exists(file)) return;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("#") || line.trim().isEmpty()) continue;
+                String[] fields = line.split("\t");
+                List<long[]> samples = new ArrayList<>();
+                for (int i = 1; i < fields.length; i++) {
+                    String[] pair = fields[i].split(":");
+                    try {
+                        samples.add(new long[] {Long.parseLong(pair[0]), Long.parseLong(pair[1])});
+                    } catch (NumberFormatException | ArrayIndexOutOfBoundsException ignored) { }
+                }
+                history.put(fields[0], samples);
+            }
+        } catch (IOException e) {
+            log.warn("Could not read duration trends {}: {}", file, e.getMessage());
+            return;
+        }
+        log.info("Loaded duration trends for {} tests and steps", history.size());
+    }
+
+    // Appends this run's samples and keeps the last trends.maxRuns per key
+    public static void save() {
+        Map<String, Long> snapshot;
+        synchronized (current) {
+            if (current.isEmpty()) return;
+            snapshot = new LinkedHashMap<>(current);
+        }
+        Map<String, List<long[]>> merged = new TreeMap<>();
+        synchronized (history) {
+            loadIfNeeded();
+            for (Map.Entry<String, Long> entry : snapshot.entrySet()) {
+                List<long[]> samples = history.get(entry.getKey());
+                if (samples == null) {
+                    samples = new ArrayList<>();
+                    history.put(entry.getKey(), samples);
+                }
+                samples.add(new long[] {runId, entry.getValue()});
+                int maxRuns = TestConfig.getInt("trends.maxRuns", 50);
+                if (samples.size() > maxRuns) samples.subList(0, samples.size() - maxRuns).clear();
+            }
+            for (Map.Entry<String, List<long[]>> entry : history.entrySet()) {
+                merged.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+        }
+
+        Path file = historyFile();
+        try {
+            if (file.getParent() != null) Files.createDirectories(file.getParent());
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "trends", ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                writer.write("# key<TAB>run:millis ... (run = epoch seconds), oldest first\n");
+                for (Map.Entry<String, List<long[]>> entry : merged.entrySet()) {
+                    StringBuilder sb = new StringBuilder(entry.getKey());
+                    for (long[] sample : entry.getValue()) sb.append('\t').append(sample[0]).append(':').append(sample[1]);
+                    writer.write(sb.append('\n').toString());
+                }
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Could not save duration trends {}: {}", file, e.getMessage());
+        }
+    }
+
+}
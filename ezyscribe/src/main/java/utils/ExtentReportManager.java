@@ -3,14 +3,21 @@ package utils;
 import com.aventstack.extentreports.*;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 public class ExtentReportManager {
     private static ExtentReports extent;
     private static ExtentTest test;
 
+    // Screenshots/DOM dumps still being written in the background, linked at flush time
+    private static final List<PendingAttachment> pending = new ArrayList<>();
+
     private static final String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
-    private static final String reportPath = "test-output/ExtentReport_" + timestamp + ".html";
+    private static final String reportPath = TestConfig.outputDir() + "/ExtentReport_" + timestamp + ".html";
 
     public static ExtentReports createInstance() {
         ExtentSparkReporter reporter = new ExtentSparkReporter(reportPath);
@@ -30,10 +37,38 @@ public class ExtentReportManager {
     }
 
     public static void flushReports() {
+        attachPending();
         if (extent != null)
             extent.flush();
     }
 
+    public static void attachWhenReady(ExtentTest target, CompletableFuture<String> path, String title) {
+        if (target == null || path == null) return;
+        synchronized (pending) {
+            pending.add(new PendingAttachment(target, path, title));
+        }
+    }
+
+    private static void attachPending() {
+        List<PendingAttachment> ready;
+        synchronized (pending) {
+            if (pending.isEmpty()) return;
+            ready = new ArrayList<>(pending);
+            pending.clear();
+        }
+        ScreenshotStore.awaitPending(30, TimeUnit.SECONDS);
+        for (PendingAttachment attachment : ready) {
+            String path = attachment.path.getNow(null);
+            if (path == null) {
+                attachment.test.warning(attachment.title + " (not captured)");
+            } else if (path.endsWith(".png")) {
+                attachment.test.info(attachment.title, MediaEntityBuilder.createScreenCaptureFromPath(path).build());
+            } else {
+                attachment.test.info("<a href='" + path + "' target='_blank'>" + attachment.title + "</a>");
+            }
+        }
+    }
+
     public static ExtentTest createTest(String testName) {
         test = getExtent().createTest(testName);
         return test;
@@ -42,4 +77,16 @@ public class ExtentReportManager {
     public static ExtentTest getTest() {
         return test;
     }
+
+    private static class PendingAttachment {
+        final ExtentTest test;
+        final CompletableFuture<String> path;
+        final String title;
+
+        PendingAttachment(ExtentTest test, CompletableFuture<String> path, String title) {
+            this.test = test;
+            this.path = path;
+            this.title = title;
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Threads for work that spends its time blocked on WebDriver/HTTP round-trips.
+// On Java 21+ these are virtual threads, so hundreds of sessions don't each pin an OS thread;
+// on older runtimes (or with -Dezyscribe.threads.virtual=false) they are plain daemon threads.
+// Looked up reflectively because the project still compiles for Java 8.
+public class IoThreads {
+    private static final Logger log = LogManager.getLogger(IoThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null, name = null, factory = null, perTask = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+        THREAD_PER_TASK_EXECUTOR = perTask;
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return OF_VIRTUAL != null;
+    }
+
+    public static boolean useVirtualThreads() {
+        return virtualThreadsAvailable() && TestConfig.getBoolean("threads.virtual", true);
+    }
+
+    public static ThreadFactory platformFactory(final String prefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static ThreadFactory virtualFactory(String prefix) {
+        if (!virtualThreadsAvailable()) {
+            throw new UnsupportedOperationException("Virtual threads need Java 21+, running on " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix + "-", 0L);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create virtual thread factory", e);
+        }
+    }
+
+    // One thread per task, no pooling: blocking callers are cheap on virtual threads, and on
+    // platform threads a cached pool is the closest equivalent
+    public static ExecutorService newExecutor(String prefix) {
+        if (useVirtualThreads()) {
+            try {
+                return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, virtualFactory(prefix));
+            } catch (ReflectiveOperationException e) {
+                log.warn("Falling back to platform threads for {}: {}", prefix, e.getMessage());
+            }
+        }
+        return Executors.newCachedThreadPool(platformFactory(prefix));
+    }
+}
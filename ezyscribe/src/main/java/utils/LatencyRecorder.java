@@ -0,0 +1,82 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Thread-safe per-action latency samples with nearest-rank percentiles
+public class LatencyRecorder {
+
+    private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+    private final Map<String, Integer> errors = new LinkedHashMap<>();
+
+    public synchronized void record(String action, long millis) {
+        List<Long> values = samples.get(action);
+        if (values == null) {
+            values = new ArrayList<>();
+            samples.put(action, values);
+        }
+        values.add(millis);
+    }
+
+    public synchronized void recordError(String action) {
+        Integer count = errors.get(action);
+        errors.put(action, count == null ? 1 : count + 1);
+        if (!samples.containsKey(action)) samples.put(action, new ArrayList<Long>());
+    }
+
+    public synchronized Summary summary(String action) {
+        List<Long> values = samples.get(action);
+        long[] sorted = new long[values == null ? 0 : values.size()];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = values.get(i);
+        Arrays.sort(sorted);
+        Integer errorCount = errors.get(action);
+        return new Summary(action, sorted, errorCount == null ? 0 : errorCount);
+    }
+
+    public synchronized List<String> actions() {
+        return new ArrayList<>(samples.keySet());
+    }
+
+    // Plain-text table; throughput is per second over the given wall-clock window
+    public String report(long windowMillis) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-24s %8s %7s %9s %8s %8s %8s %8s%n",
+                "action", "count", "errors", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        for (String action : actions()) {
+            Summary s = summary(action);
+            sb.append(String.format("%-24s %8d %7d %9.2f %8d %8d %8d %8d%n",
+                    action, s.count(), s.errors, s.count() * 1000.0 / Math.max(1, windowMillis),
+                    s.percentile(0.50), s.percentile(0.95), s.percentile(0.99), s.max()));
+        }
+        return sb.toString();
+    }
+
+    public static class Summary {
+        public final String action;
+        public final int errors;
+        private final long[] sorted;
+
+        Summary(String action, long[] sorted, int errors) {
+            this.action = action;
+            this.sorted = sorted;
+            this.errors = errors;
+        }
+
+        public int count() {
+            return sorted.length;
+        }
+
+        public long percentile(double p) {
+            if (sorted.length == 0) return 0;
+            int index = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+        }
+
+        public long max() {
+            return sorted.length == 0 ? 0 : sorted[sorted.length - 1];
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Growth trend of readings taken once per iteration of a repeated flow (JS heap, DOM nodes, ...).
+// The first `warmup` readings are left out: caches, lazy chunks and first-render allocations
+// settle there and would look like a leak. The slope is Theil-Sen, the median of the slopes
+// between every pair of readings, so a late GC or one heavy iteration doesn't swing the verdict
+// the way it would a least-squares fit.
+public class LeakTrend {
+
+    private final int warmup;
+    private final Map<String, List<Long>> series = new LinkedHashMap<>();
+
+    public LeakTrend(int warmup) {
+        this.warmup = Math.max(0, warmup);
+    }
+
+    public synchronized void add(String metric, long value) {
+        series.computeIfAbsent(metric, k -> new ArrayList<Long>()).add(value);
+    }
+
+    public synchronized Set<String> metrics() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(series.keySet()));
+    }
+
+    // Readings past the warm-up
+    public synchronized List<Long> settled(String metric) {
+        List<Long> values = series.get(metric);
+        if (values == null || values.size() <= warmup) return Collections.emptyList();
+        return new ArrayList<>(values.subList(warmup, values.size()));
+    }
+
+    // Growth per iteration; NaN until there are three settled readings
+    public double slope(String metric) {
+        List<Long> values = settled(metric);
+        int n = values.size();
+        if (n < 3) return Double.NaN;
+        double[] slopes = new double[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                slopes[k++] = (values.get(j) - values.get(i)) / (double) (j - i);
+            }
+        }
+        Arrays.sort(slopes);
+        return k % 2 == 1 ? slopes[k / 2] : (slopes[k / 2 - 1] + slopes[k / 2]) / 2;
+    }
+
+    // Last settled reading minus the first
+    public long growth(String metric) {
+        List<Long> values = settled(metric);
+        return values.size() < 2 ? 0 : values.get(values.size() - 1) - values.get(0);
+    }
+
+    public synchronized int iterations() {
+        int max = 0;
+        for (List<Long> values : series.values()) max = Math.max(max, values.size());
+        return max;
+    }
+}
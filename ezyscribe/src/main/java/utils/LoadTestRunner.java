@@ -0,0 +1,178 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import pages.DoctorDashboardPage;
+import pages.ScribeDashboardPage;
+import pages.TaskDashboard;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Drives N headless virtual users against the /tasks dashboard, each running a weighted
+// mix of page-object actions, and collects per-action latency. The actions use the page
+// methods that end on condition waits (searchTaskIdUntilShown rather than searchTaskId's reload
+// and pauses), so a latency is the app's time, not fixed sleeps in the test.
+// Point it at a local stand-in with -Dezyscribe.baseUrl=http://localhost:3000.
+public class LoadTestRunner {
+    private static final Logger log = LogManager.getLogger(LoadTestRunner.class);
+
+    private final int users;
+    private final long rampUpMillis;
+    private final long durationMillis;
+    private final long thinkTimeMillis;
+    private final double scribeRatio;
+    private final Map<String, Integer> mix;
+    private final LatencyRecorder latencies = new LatencyRecorder();
+
+    public LoadTestRunner(int users, long rampUpMillis, long durationMillis) {
+        this.users = users;
+        this.rampUpMillis = rampUpMillis;
+        this.durationMillis = durationMillis;
+        this.thinkTimeMillis = TestConfig.getLong("load.thinkTimeMs", 500);
+        this.scribeRatio = Double.parseDouble(TestConfig.getString("load.scribeRatio", "0.5"));
+        this.mix = parseMix(TestConfig.getString("load.mix", "search:3,status:2,priority:2,sort:1"));
+    }
+
+    public static LoadTestRunner fromConfig() {
+        return new LoadTestRunner(
+                TestConfig.getInt("load.users", 0),
+                TestConfig.getLong("load.rampUpSec", 30) * 1000,
+                TestConfig.getLong("load.durationSec", 120) * 1000);
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public LatencyRecorder getLatencies() {
+        return latencies;
+    }
+
+    // Blocks until every user has finished; returns the wall-clock length of the run
+    public long run() throws InterruptedException {
+        // Each user spends nearly all its time blocked on chromedriver, so one cheap thread per user
+        ExecutorService pool = IoThreads.newExecutor("load-vu");
+        final long start = System.currentTimeMillis();
+        final long end = start + rampUpMillis + durationMillis;
+        for (int i = 0; i < users; i++) {
+            final int user = i;
+            final long startAt = start + (users <= 1 ? 0 : rampUpMillis * i / (users - 1));
+            pool.submit(() -> runUser(user, startAt, end));
+        }
+        pool.shutdown();
+        if (!pool.awaitTermination(end - start + TimeUnit.MINUTES.toMillis(5), TimeUnit.MILLISECONDS)) {
+            log.warn("Some virtual users did not stop in time.");
+            pool.shutdownNow();
+        }
+        return System.currentTimeMillis() - start;
+    }
+
+    private void runUser(int user, long startAt, long end) {
+        WebDriver driver = null;
+        Random random = new Random(user);
+        try {
+            sleepUntil(startAt);
+            driver = DriverServiceManager.newChromeDriver(headlessOptions());
+
+            long loginStart = System.currentTimeMillis();
+            TaskDashboard dashboard = login(driver, random.nextDouble() < scribeRatio);
+            dashboard.waitForDashboardToLoad();
+            latencies.record("login", System.currentTimeMillis() - loginStart);
+
+            while (System.currentTimeMillis() < end) {
+                String action = pickAction(random);
+                long actionStart = System.currentTimeMillis();
+                try {
+                    perform(dashboard, action);
+                    latencies.record(action, System.currentTimeMillis() - actionStart);
+                } catch (RuntimeException | AssertionError e) {
+                    latencies.recordError(action);
+                    log.warn("VU{} {} failed: {}", user, action, e.getMessage());
+                    dashboard.refreshDashboard();
+                }
+                Thread.sleep(thinkTimeMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            latencies.recordError("session");
+            log.error("VU{} aborted: {}", user, e.getMessage());
+        } finally {
+            if (driver != null) driver.quit();
+        }
+    }
+
+    private static TaskDashboard login(WebDriver driver, boolean asScribe) {
+        if (asScribe) {
+            ScribeDashboardPage page = new ScribeDashboardPage(driver);
+            page.loginAsScribe(TestConfig.getString("scribe.email", "testscribe@gmail.com"),
+                    TestConfig.getString("scribe.password", "12345678"));
+            return page;
+        }
+        DoctorDashboardPage page = new DoctorDashboardPage(driver);
+        page.loginAsDoctor(TestConfig.getString("doctor.email", "testprovider@gmail.com"),
+                TestConfig.getString("doctor.password", "12345678"));
+        return page;
+    }
+
+    private static void perform(TaskDashboard dashboard, String action) {
+        switch (action) {
+            case "search":
+                dashboard.searchTaskIdUntilShown(dashboard.secondTaskIdInTable());
+                dashboard.clearTaskIdSearchBoxWithWait();
+                break;
+            case "status":
+                dashboard.applyFirstStatusFilterAndVerify();
+                dashboard.clearStatusFilter();
+                break;
+            case "priority":
+                dashboard.applyPriorityFilterAndVerify();
+                dashboard.clearPriorityFilter();
+                break;
+            case "sort":
+                dashboard.applyAscendingSortOnTaskId();
+                dashboard.verifyTaskIdsInAscendingOrder();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown load action: " + action);
+        }
+    }
+
+    private String pickAction(Random random) {
+        int total = 0;
+        for (int weight : mix.values()) total += weight;
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) return entry.getKey();
+        }
+        throw new IllegalStateException("Empty action mix");
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            result.put(kv[0].trim(), kv.length > 1 ? Integer.parseInt(kv[1].trim()) : 1);
+        }
+        return result;
+    }
+
+    private static ChromeOptions headlessOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--window-size=1920,1080", "--disable-gpu",
+                "--no-sandbox", "--disable-dev-shm-usage", "--incognito", "--disable-extensions");
+        return options;
+    }
+
+    private static void sleepUntil(long time) throws InterruptedException {
+        long wait = time - System.currentTimeMillis();
+        if (wait > 0) Thread.sleep(wait);
+    }
+}
@@ -0,0 +1,15 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Time budget in milliseconds for a test method or a page-object action. Tests are checked by
+// listeners.BudgetListener; page actions only when the page was made with
+// PerformanceBudgets.newPage(), which times its annotated methods.
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxDuration {
+    long value();
+}
@@ -0,0 +1,260 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+// Watches how much memory a long-lived session holds and says when to swap it for a fresh one.
+// After each test the page's JS heap and DOM node count come from CDP Performance.getMetrics
+// and the browser tree's RSS from ps (see ProcessReaper). A session is due for recycling once
+// it has run memory.recycleAfterTests tests or passed memory.maxHeapMb / memory.maxRssMb;
+// recycle() moves cookies and web storage into the replacement so it starts logged in.
+// -Dezyscribe.memory.monitor=false turns sampling (and so recycling) off.
+// snapshot() reads the same numbers without counting them against the session, for trends.
+public class MemoryMonitor {
+    private static final Logger log = LogManager.getLogger(MemoryMonitor.class);
+    private static final long MB = 1024 * 1024;
+
+    private static final Map<WebDriver, Session> sessions = Collections.synchronizedMap(new WeakHashMap<WebDriver, Session>());
+    private static final List<Session> all = Collections.synchronizedList(new ArrayList<Session>());
+    private static int sessionCounter = 0;
+
+    public static class Sample {
+        public final long heapUsedBytes;
+        public final long heapTotalBytes;
+        public final long domNodes;
+        public final long listeners;
+        // Live documents, frames included; a popup that leaks its iframe keeps adding one
+        public final long documents;
+        public final long rssBytes;
+
+        Sample(long heapUsedBytes, long heapTotalBytes, long domNodes, long listeners, long documents, long rssBytes) {
+            this.heapUsedBytes = heapUsedBytes;
+            this.heapTotalBytes = heapTotalBytes;
+            this.domNodes = domNodes;
+            this.listeners = listeners;
+            this.documents = documents;
+            this.rssBytes = rssBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("JS heap %.1f/%.1f MB, %d DOM nodes, %d listeners, RSS %s",
+                    heapUsedBytes / (double) MB, heapTotalBytes / (double) MB, domNodes, listeners,
+                    rssBytes < 0 ? "n/a" : rssBytes / MB + " MB");
+        }
+    }
+
+    public static class Session {
+        public final String name;
+        public int tests;
+        public Sample first;
+        public Sample last;
+        public long peakHeapBytes;
+        public long peakRssBytes = -1;
+        public String endedBy = "end of class";
+
+        Session(String name) {
+            this.name = name;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("memory.monitor", true);
+    }
+
+    // Called after each test on the session it used; returns null when nothing could be read
+    public static Sample sample(WebDriver driver, String owner) {
+        if (!isEnabled() || driver == null || !CdpSupport.isSupported(driver)) return null;
+        Session session;
+        synchronized (sessions) {
+            session = sessions.get(driver);
+            if (session == null) {
+                session = new Session(owner + " #" + (++sessionCounter));
+                sessions.put(driver, session);
+                all.add(session);
+                enable(driver);
+            }
+        }
+        Sample sample = read(driver);
+        if (sample == null) return null;
+        session.tests++;
+        if (session.first == null) session.first = sample;
+        session.last = sample;
+        session.peakHeapBytes = Math.max(session.peakHeapBytes, sample.heapUsedBytes);
+        session.peakRssBytes = Math.max(session.peakRssBytes, sample.rssBytes);
+        return sample;
+    }
+
+    // Forcing a full GC first (HeapProfiler.collectGarbage) leaves only what the page still
+    // holds on to, so consecutive snapshots of one session show retained growth, not garbage
+    public static Sample snapshot(WebDriver driver, boolean collectGarbage) {
+        if (driver == null || !CdpSupport.isSupported(driver)) return null;
+        enable(driver);
+        if (collectGarbage) {
+            try {
+                CdpSupport.send(driver, "HeapProfiler.collectGarbage");
+            } catch (WebDriverException e) {
+                log.debug("HeapProfiler.collectGarbage failed: {}", e.getMessage());
+            }
+        }
+        return read(driver);
+    }
+
+    private static Sample read(WebDriver driver) {
+        try {
+            Map<String, Double> metrics = metrics(driver);
+            return new Sample(value(metrics, "JSHeapUsedSize"), value(metrics, "JSHeapTotalSize"),
+                    value(metrics, "Nodes"), value(metrics, "JSEventListeners"), value(metrics, "Documents"),
+                    ProcessReaper.rssBytes(driver));
+        } catch (WebDriverException e) {
+            log.debug("Memory sample failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    public static Session sessionOf(WebDriver driver) {
+        return driver == null ? null : sessions.get(driver);
+    }
+
+    public static List<Session> sessions() {
+        synchronized (all) {
+            return new ArrayList<>(all);
+        }
+    }
+
+    // Why this session should be replaced before the next test, or null if it's fine
+    public static String recycleReason(WebDriver driver) {
+        Session session = sessionOf(driver);
+        if (session == null || session.last == null) return null;
+        int maxTests = TestConfig.getInt("memory.recycleAfterTests", 25);
+        long maxHeap = TestConfig.getLong("memory.maxHeapMb", 300) * MB;
+        long maxRss = TestConfig.getLong("memory.maxRssMb", 1500) * MB;
+        if (maxTests > 0 && session.tests >= maxTests) return session.tests + " tests";
+        if (maxHeap > 0 && session.last.heapUsedBytes >= maxHeap) return "JS heap " + session.last.heapUsedBytes / MB + " MB";
+        if (maxRss > 0 && session.last.rssBytes >= maxRss) return "RSS " + session.last.rssBytes / MB + " MB";
+        return null;
+    }
+
+    public static boolean shouldRecycle(WebDriver driver) {
+        return recycleReason(driver) != null;
+    }
+
+    // Copies cookies and local/session storage from the old session into the fresh one, quits
+    // the old one and opens the dashboard. Returns whether the fresh session got past login;
+    // when it didn't, the caller logs in as usual.
+    public static boolean recycle(WebDriver old, WebDriver fresh) {
+        long start = System.currentTimeMillis();
+        String reason = recycleReason(old);
+        Session session = sessionOf(old);
+        if (session != null) session.endedBy = "recycled (" + reason + ")";
+
+        Set<Cookie> cookies = Collections.emptySet();
+        Map<String, Map<String, String>> storage = new HashMap<>();
+        try {
+            cookies = old.manage().getCookies();
+            storage.put("localStorage", readStorage(old, "localStorage"));
+            storage.put("sessionStorage", readStorage(old, "sessionStorage"));
+        } catch (WebDriverException e) {
+            log.warn("Could not copy login state from the old session: {}", e.getMessage());
+        }
+        try {
+            old.quit();
+        } catch (WebDriverException e) {
+            log.debug("Old session did not quit cleanly: {}", e.getMessage());
+        }
+
+        boolean loggedIn = false;
+        try {
+            // Cookies and storage can only be set on a page of the app's own origin
+            fresh.get(TestConfig.loginUrl());
+            for (Cookie cookie : cookies) {
+                try {
+                    fresh.manage().addCookie(cookie);
+                } catch (WebDriverException e) {
+                    log.debug("Cookie {} not restored: {}", cookie.getName(), e.getMessage());
+                }
+            }
+            for (Map.Entry<String, Map<String, String>> area : storage.entrySet()) {
+                writeStorage(fresh, area.getKey(), area.getValue());
+            }
+            fresh.get(TestConfig.tasksUrl());
+            loggedIn = reachedDashboard(fresh);
+        } catch (WebDriverException e) {
+            log.warn("Could not restore login state in the new session: {}", e.getMessage());
+        }
+        log.info("♻️ Recycled {} after {} in {} ms; login {}", session == null ? "session" : session.name, reason,
+                System.currentTimeMillis() - start, loggedIn ? "restored" : "needed again");
+        return loggedIn;
+    }
+
+    private static void enable(WebDriver driver) {
+        try {
+            CdpSupport.send(driver, "Performance.enable");
+        } catch (WebDriverException e) {
+            log.debug("Performance.enable failed: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Double> metrics(WebDriver driver) {
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        Object list = CdpSupport.send(driver, "Performance.getMetrics").get("metrics");
+        if (list instanceof List) {
+            for (Object entry : (List<Object>) list) {
+                Map<String, Object> metric = (Map<String, Object>) entry;
+                metrics.put(String.valueOf(metric.get("name")), ((Number) metric.get("value")).doubleValue());
+            }
+        }
+        return metrics;
+    }
+
+    private static long value(Map<String, Double> metrics, String name) {
+        Double value = metrics.get(name);
+        return value == null ? 0 : value.longValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> readStorage(WebDriver driver, String area) {
+        Object values = ((JavascriptExecutor) driver).executeScript(
+                "var s = window[arguments[0]], out = {};"
+                + "for (var i = 0; i < s.length; i++) { var k = s.key(i); out[k] = s.getItem(k); }"
+                + "return out;", area);
+        return values instanceof Map ? (Map<String, String>) values : Collections.<String, String>emptyMap();
+    }
+
+    private static void writeStorage(WebDriver driver, String area, Map<String, String> values) {
+        if (values.isEmpty()) return;
+        ((JavascriptExecutor) driver).executeScript(
+                "var s = window[arguments[0]], v = arguments[1];"
+                + "for (var k in v) { s.setItem(k, v[k]); }", area, values);
+    }
+
+    // The app sends anonymous visitors back to the login page; a task table means we're in
+    private static boolean reachedDashboard(WebDriver driver) {
+        try {
+            return "dashboard".equals(new WebDriverWait(driver, Duration.ofMillis(TestConfig.getLong("memory.restoreTimeoutMs", 10000)))
+                    .until(d -> !d.findElements(By.xpath("//table//tbody/tr")).isEmpty() ? "dashboard"
+                            : d.getCurrentUrl().contains("/auth/login") && !d.findElements(By.name("email")).isEmpty() ? "login"
+                            : null));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
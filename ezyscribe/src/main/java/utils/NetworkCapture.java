@@ -0,0 +1,335 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+// Records a timing summary of every request a session makes (no headers or bodies) in a
+// fixed-size ring buffer, so tests can assert API latency budgets and failures can be
+// exported as a HAR. Memory stays flat however long the session runs.
+public class NetworkCapture {
+    private static final Logger log = LogManager.getLogger(NetworkCapture.class);
+    private static final Map<WebDriver, NetworkCapture> captures =
+            Collections.synchronizedMap(new WeakHashMap<WebDriver, NetworkCapture>());
+
+    private static final int MAX_URL_LENGTH = 2048;
+
+    private final Entry[] entries;
+    private int next = 0;
+    private int size = 0;
+    private final Map<String, Entry> inFlight;
+
+    private NetworkCapture(final int capacity) {
+        this.entries = new Entry[capacity];
+        // Requests that never finish (long polls, aborted navigations) must not pile up either
+        this.inFlight = new LinkedHashMap<String, Entry>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("network.capture", true);
+    }
+
+    // Starts capturing on first use for a driver, then returns the same capture
+    public static NetworkCapture forDriver(WebDriver driver) {
+        if (!isEnabled() || driver == null || !CdpSupport.isSupported(driver)) return null;
+        synchronized (captures) {
+            NetworkCapture capture = captures.get(driver);
+            if (capture == null) {
+                capture = new NetworkCapture(Math.max(1, TestConfig.getInt("network.maxEntries", 1000)));
+                try {
+                    capture.start(driver);
+                } catch (RuntimeException e) {
+                    log.warn("Network capture not available for this session: {}", e.getMessage());
+                    return null;
+                }
+                captures.put(driver, capture);
+            }
+            return capture;
+        }
+    }
+
+    public static NetworkCapture existing(WebDriver driver) {
+        return driver == null ? null : captures.get(driver);
+    }
+
+    private void start(WebDriver driver) {
+        DevTools devTools = CdpSupport.devTools(driver);
+        CdpSupport.listen(devTools, "Network.requestWillBeSent", this::onRequest);
+        CdpSupport.listen(devTools, "Network.responseReceived", this::onResponse);
+        CdpSupport.listen(devTools, "Network.loadingFinished", this::onFinished);
+        CdpSupport.listen(devTools, "Network.loadingFailed", this::onFailed);
+
+        // Keep Chrome's own body buffer small too; we never ask for bodies
+        Map<String, Object> params = new HashMap<>();
+        params.put("maxTotalBufferSize", 1024 * 1024);
+        params.put("maxResourceBufferSize", 64 * 1024);
+        CdpSupport.send(devTools, "Network.enable", params);
+        log.info("Network capture started ({} entries)", entries.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onRequest(Map<String, Object> event) {
+        Map<String, Object> request = (Map<String, Object>) event.get("request");
+        if (request == null) return;
+        Entry entry = new Entry();
+        String url = String.valueOf(request.get("url"));
+        entry.url = url.length() > MAX_URL_LENGTH ? url.substring(0, MAX_URL_LENGTH) : url;
+        entry.method = String.valueOf(request.get("method"));
+        entry.type = event.get("type") == null ? "Other" : String.valueOf(event.get("type"));
+        entry.startedWall = (long) (number(event.get("wallTime")) * 1000);
+        entry.startedMonotonic = number(event.get("timestamp"));
+        // A redirect reuses the requestId; the earlier hop is simply replaced
+        inFlight.put((String) event.get("requestId"), entry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void onResponse(Map<String, Object> event) {
+        Entry entry = inFlight.get((String) event.get("requestId"));
+        Map<String, Object> response = (Map<String, Object>) event.get("response");
+        if (entry == null || response == null) return;
+        entry.status = (int) number(response.get("status"));
+        entry.statusText = String.valueOf(response.get("statusText"));
+        entry.mimeType = String.valueOf(response.get("mimeType"));
+        entry.protocol = response.get("protocol") == null ? "" : String.valueOf(response.get("protocol"));
+
+        Map<String, Object> timing = (Map<String, Object>) response.get("timing");
+        if (timing != null) {
+            entry.dns = span(timing, "dnsStart", "dnsEnd");
+            entry.connect = span(timing, "connectStart", "connectEnd");
+            entry.ssl = span(timing, "sslStart", "sslEnd");
+            entry.send = span(timing, "sendStart", "sendEnd");
+            entry.waitMs = span(timing, "sendEnd", "receiveHeadersEnd");
+            entry.headersAt = number(timing.get("receiveHeadersEnd"));
+        }
+    }
+
+    private synchronized void onFinished(Map<String, Object> event) {
+        Entry entry = inFlight.remove((String) event.get("requestId"));
+        if (entry == null) return;
+        entry.durationMs = (number(event.get("timestamp")) - entry.startedMonotonic) * 1000;
+        entry.bytes = (long) number(event.get("encodedDataLength"));
+        add(entry);
+    }
+
+    private synchronized void onFailed(Map<String, Object> event) {
+        Entry entry = inFlight.remove((String) event.get("requestId"));
+        if (entry == null) return;
+        entry.durationMs = (number(event.get("timestamp")) - entry.startedMonotonic) * 1000;
+        entry.error = String.valueOf(event.get("errorText"));
+        add(entry);
+    }
+
+    private void add(Entry entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        if (size < entries.length) size++;
+    }
+
+    // Drops earlier requests so budgets and HARs only cover the current test
+    public synchronized void reset() {
+        Arrays.fill(entries, null);
+        inFlight.clear();
+        next = 0;
+        size = 0;
+    }
+
+    public synchronized List<Entry> entries() {
+        List<Entry> result = new ArrayList<>(size);
+        int start = (next - size + entries.length) % entries.length;
+        for (int i = 0; i < size; i++) result.add(entries[(start + i) % entries.length]);
+        return result;
+    }
+
+    // Durations of finished XHR/fetch calls whose URL matches the pattern
+    public LatencyRecorder.Summary summary(String urlPattern) {
+        Pattern pattern = Pattern.compile(urlPattern);
+        List<Long> durations = new ArrayList<>();
+        int errors = 0;
+        for (Entry entry : entries()) {
+            if (!entry.isApiCall() || !pattern.matcher(entry.url).matches()) continue;
+            if (entry.error != null || entry.status >= 400) errors++;
+            else durations.add(Math.round(entry.durationMs));
+        }
+        long[] sorted = new long[durations.size()];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = durations.get(i);
+        Arrays.sort(sorted);
+        return new LatencyRecorder.Summary(urlPattern, sorted, errors);
+    }
+
+    // Asserts the p95 of the named API stays within budget, e.g. assertApiBudget(driver, "search", 300).
+    // The endpoint is api.search.pattern in ezyscribe.properties; it and the budget can be
+    // overridden with -Dezyscribe.api.search.pattern / .p95Ms. A budgeted call that never shows
+    // up is a warning, or a failure with -Dezyscribe.api.failWhenUnseen=true, since a renamed
+    // endpoint would otherwise pass every budget unchecked. Without a capture (no CDP)
+    // there is nothing to check, so it only logs.
+    public static void assertApiBudget(WebDriver driver, String api, long defaultP95Ms) {
+        NetworkCapture capture = existing(driver);
+        if (capture == null) {
+            log.info("No network capture for this session; {} API budget not checked.", api);
+            return;
+        }
+        String pattern = TestConfig.getString("api." + api + ".pattern", null);
+        if (pattern == null) {
+            throw new IllegalStateException("No endpoint configured for the " + api + " API; set api." + api
+                    + ".pattern in ezyscribe.properties or -Dezyscribe.api." + api + ".pattern");
+        }
+        long budget = TestConfig.getLong("api." + api + ".p95Ms", defaultP95Ms);
+        LatencyRecorder.Summary summary = capture.summary(pattern);
+
+        String line = String.format("%s API: n=%d errors=%d p50=%d ms p95=%d ms max=%d ms (budget p95 < %d ms)",
+                api, summary.count(), summary.errors, summary.percentile(0.50), summary.percentile(0.95),
+                summary.max(), budget);
+        ExtentTest test = ExtentReportManager.getTest();
+        if (summary.count() == 0 && summary.errors == 0) {
+            String message = "No " + api + " API calls matched " + pattern + "; latency budget not checked.";
+            if (TestConfig.getBoolean("api.failWhenUnseen", false)) Assert.fail("❌ " + message);
+            log.warn(message);
+            // The traffic that did happen, to check the pattern against
+            String har = capture.writeHar(api + "-unmatched");
+            if (test != null) {
+                test.warning("⚠️ " + message);
+                if (har != null) ExtentReportManager.attachWhenReady(test, CompletableFuture.completedFuture(har), "Network HAR");
+            }
+            return;
+        }
+        log.info("🌐 {}", line);
+        if (test != null) test.info("🌐 " + line);
+        Assert.assertEquals(summary.errors, 0, "❌ " + api + " API calls failed: " + line);
+        Assert.assertTrue(summary.percentile(0.95) < budget, "❌ " + api + " API over latency budget: " + line);
+    }
+
+    // Writes the buffered requests as a HAR 1.2 file, returns its path relative to the output dir
+    public String writeHar(String name) {
+        List<Entry> snapshot = entries();
+        if (snapshot.isEmpty()) return null;
+
+        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSXXX");
+        List<Object> harEntries = new ArrayList<>();
+        for (Entry entry : snapshot) harEntries.add(entry.toHar(iso));
+
+        Map<String, Object> creator = new LinkedHashMap<>();
+        creator.put("name", "ezyscribe-tests");
+        creator.put("version", "1.0");
+        Map<String, Object> harLog = new LinkedHashMap<>();
+        harLog.put("version", "1.2");
+        harLog.put("creator", creator);
+        harLog.put("pages", Collections.emptyList());
+        harLog.put("entries", harEntries);
+
+        String stamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String relative = "network/" + name.replaceAll("[^A-Za-z0-9_.-]", "_") + "_" + stamp + ".har";
+        Path file = Paths.get(TestConfig.outputDir(), relative);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, new Json().toJson(Collections.singletonMap("log", harLog)).getBytes(StandardCharsets.UTF_8));
+            log.info("Saved HAR with {} requests to {}", snapshot.size(), file);
+            return relative;
+        } catch (IOException e) {
+            log.error("Failed to write HAR to {}", file, e);
+            return null;
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : 0;
+    }
+
+    // CDP reports -1 for phases that didn't happen (e.g. a reused connection); HAR wants -1 too
+    private static double span(Map<String, Object> timing, String from, String to) {
+        double start = number(timing.get(from));
+        double end = number(timing.get(to));
+        return start < 0 || end < 0 ? -1 : end - start;
+    }
+
+    public static class Entry {
+        public String url;
+        public String method;
+        public String type;
+        public int status;
+        public String statusText = "";
+        public String mimeType = "";
+        public String protocol = "";
+        public String error;
+        public long startedWall;
+        public double durationMs;
+        public long bytes;
+        double startedMonotonic;
+        double dns = -1, connect = -1, ssl = -1, send = -1, waitMs = -1, headersAt = -1;
+
+        public boolean isApiCall() {
+            return "XHR".equals(type) || "Fetch".equals(type);
+        }
+
+        Map<String, Object> toHar(SimpleDateFormat iso) {
+            Map<String, Object> request = new LinkedHashMap<>();
+            request.put("method", method);
+            request.put("url", url);
+            request.put("httpVersion", protocol);
+            request.put("cookies", Collections.emptyList());
+            request.put("headers", Collections.emptyList());
+            request.put("queryString", Collections.emptyList());
+            request.put("headersSize", -1);
+            request.put("bodySize", -1);
+
+            Map<String, Object> content = new LinkedHashMap<>();
+            content.put("size", bytes);
+            content.put("mimeType", mimeType);
+            Map<String, Object> response = new LinkedHashMap<>();
+            response.put("status", status);
+            response.put("statusText", error != null ? error : statusText);
+            response.put("httpVersion", protocol);
+            response.put("cookies", Collections.emptyList());
+            response.put("headers", Collections.emptyList());
+            response.put("content", content);
+            response.put("redirectURL", "");
+            response.put("headersSize", -1);
+            response.put("bodySize", bytes);
+
+            Map<String, Object> timings = new LinkedHashMap<>();
+            timings.put("blocked", -1);
+            timings.put("dns", dns);
+            timings.put("connect", connect);
+            timings.put("ssl", ssl);
+            timings.put("send", Math.max(0, send));
+            timings.put("wait", Math.max(0, waitMs));
+            timings.put("receive", headersAt < 0 ? 0 : Math.max(0, durationMs - headersAt));
+
+            Map<String, Object> har = new LinkedHashMap<>();
+            har.put("startedDateTime", iso.format(new Date(startedWall)));
+            har.put("time", durationMs);
+            har.put("request", request);
+            har.put("response", response);
+            har.put("cache", Collections.emptyMap());
+            har.put("timings", timings);
+            har.put("_resourceType", type);
+            return har;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package utils;
+
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.implementation.bind.annotation.Origin;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.SuperCall;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Checks @MaxDuration budgets. Page objects made with newPage() are runtime subclasses whose
+// annotated methods are timed on the way through; tests are timed by listeners.BudgetListener.
+// Every check is kept for the end-of-run table, and the ones made during a test are handed to
+// the listener, which fails a functionally passing test with Exceeded when one ran over, once
+// -Dezyscribe.budgets.enforce=true; ezyscribe.properties ships it off, so budgets are only
+// reported until they are calibrated against the DurationTrends medians. Under a throttle profile budgets are
+// stretched by its slowdown(). -Dezyscribe.budgets.enabled=false makes newPage() a plain new.
+public class PerformanceBudgets {
+    private static final Logger log = LogManager.getLogger(PerformanceBudgets.class);
+
+    private static final Map<Class<?>, Class<?>> timedPages = new ConcurrentHashMap<>();
+    private static final List<Check> all = Collections.synchronizedList(new ArrayList<Check>());
+    private static final ThreadLocal<String> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<List<Check>> currentChecks = new ThreadLocal<>();
+
+    public static class Check {
+        public final String name;
+        // The test it ran in; null for setup outside test methods
+        public final String test;
+        public final long budgetMs;
+        public final long actualMs;
+
+        Check(String name, String test, long budgetMs, long actualMs) {
+            this.name = name;
+            this.test = test;
+            this.budgetMs = budgetMs;
+            this.actualMs = actualMs;
+        }
+
+        public boolean isOver() {
+            return actualMs > budgetMs;
+        }
+
+        public long headroomMs() {
+            return budgetMs - actualMs;
+        }
+
+        public String headroom() {
+            return String.format("%+d ms (%d%%)", headroomMs(), budgetMs == 0 ? 0 : headroomMs() * 100 / budgetMs);
+        }
+
+        @Override
+        public String toString() {
+            return name + " took " + actualMs + " ms of " + budgetMs + " ms";
+        }
+    }
+
+    // A test that passed but ran over a budget; kept apart from functional failures in the report
+    public static class Exceeded extends AssertionError {
+        private static final long serialVersionUID = 1L;
+
+        public final List<Check> checks;
+
+        public Exceeded(List<Check> checks) {
+            super("⏱️ Over budget: " + checks);
+            this.checks = checks;
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("budgets.enabled", true);
+    }
+
+    public static boolean isEnforced() {
+        return TestConfig.getBoolean("budgets.enforce", true);
+    }
+
+    // new DoctorDashboardPage(driver), but with its @MaxDuration methods timed
+    @SuppressWarnings("unchecked")
+    public static <T> T newPage(Class<T> pageClass, WebDriver driver) {
+        try {
+            Class<? extends T> type = isEnabled() ? (Class<? extends T>) timedPages.computeIfAbsent(pageClass, PerformanceBudgets::timed) : pageClass;
+            return type.getConstructor(WebDriver.class).newInstance(driver);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException("Could not create " + pageClass.getSimpleName(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + pageClass.getSimpleName(), e);
+        }
+    }
+
+    private static Class<?> timed(Class<?> pageClass) {
+        log.debug("Timing @MaxDuration methods of {}", pageClass.getSimpleName());
+        return new ByteBuddy()
+                .subclass(pageClass)
+                .name(pageClass.getName() + "$Timed")
+                .method(ElementMatchers.isAnnotatedWith(MaxDuration.class))
+                .intercept(MethodDelegation.to(Timer.class))
+                .make()
+                .load(pageClass.getClassLoader(), ClassLoadingStrategy.Default.WRAPPER)
+                .getLoaded();
+    }
+
+    // Called from the generated subclasses instead of the page method, which it then runs.
+    // A method that throws isn't checked: the test fails on the exception anyway.
+    public static class Timer {
+        @RuntimeType
+        public static Object time(@Origin Method method, @SuperCall Callable<?> page) throws Exception {
+            long start = System.nanoTime();
+            Object result = page.call();
+            record(method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+                    method.getAnnotation(MaxDuration.class).value(), (System.nanoTime() - start) / 1_000_000);
+            return result;
+        }
+    }
+
+    // ====================== Checks ======================
+
+    public static Check record(String name, long budgetMs, long actualMs) {
+        ThrottleProfile profile = ThrottleProfile.current();
+        long budget = profile.isNone() ? budgetMs : (long) (budgetMs * profile.slowdown());
+        Check check = new Check(name, currentTest.get(), budget, actualMs);
+        all.add(check);
+        List<Check> checks = currentChecks.get();
+        if (checks != null) checks.add(check);
+        if (check.isOver()) log.warn("⏱️ {}", check);
+        return check;
+    }
+
+    // Around each test method; end() returns the checks made on this thread since begin()
+    public static void begin(String test) {
+        currentTest.set(test);
+        currentChecks.set(new ArrayList<Check>());
+    }
+
+    public static List<Check> end() {
+        List<Check> checks = currentChecks.get();
+        currentTest.remove();
+        currentChecks.remove();
+        return checks == null ? Collections.<Check>emptyList() : checks;
+    }
+
+    public static List<Check> checks() {
+        synchronized (all) {
+            return new ArrayList<>(all);
+        }
+    }
+}
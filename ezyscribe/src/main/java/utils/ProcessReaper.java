@@ -0,0 +1,358 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Keeps Chrome and chromedriver from piling up on the agents when teardown never runs.
+// Every session gets its own profile directory under reaper.profileDir, named after this JVM's
+// pid, and chromedriver logs into one, so their processes can be found by command line: the
+// watchdog kills one session's tree, and at suite start whatever a dead JVM left behind (its
+// tagged browsers and chromedrivers, tagged ones reparented to init, stale profile directories)
+// is killed and deleted. Only tagged processes of the user running the tests are ever killed;
+// anyone else's Chrome or chromedriver on the agent is left alone.
+// Unix only (it reads ps); -Dezyscribe.reaper=false turns it off.
+public class ProcessReaper {
+    private static final Logger log = LogManager.getLogger(ProcessReaper.class);
+
+    private static final String JVM_PID = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+    private static final AtomicInteger sessions = new AtomicInteger();
+    private static final Map<WebDriver, Path> profiles = Collections.synchronizedMap(new WeakHashMap<WebDriver, Path>());
+    private static boolean shutdownHookAdded = false;
+
+    static class ProcessInfo {
+        final String pid;
+        final String parent;
+        final String uid;
+        final long rssKb;
+        final String args;
+
+        ProcessInfo(String pid, String parent, String uid, long rssKb, String args) {
+            this.pid = pid;
+            this.parent = parent;
+            this.uid = uid;
+            this.rssKb = rssKb;
+            this.args = args;
+        }
+
+        // chromedriver itself, or a browser it launched; someone's desktop Chrome is neither
+        boolean isAutomation() {
+            return args.contains("chromedriver") || args.contains("--enable-automation");
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("reaper", true) && !System.getProperty("os.name").toLowerCase().contains("win");
+    }
+
+    static String jvmPid() {
+        return JVM_PID;
+    }
+
+    public static Path profileRoot() {
+        return Paths.get(TestConfig.getString("reaper.profileDir",
+                System.getProperty("java.io.tmpdir") + File.separator + "ezyscribe-profiles"));
+    }
+
+    // Gives the session a profile directory we can recognise later, unless the caller chose one
+    public static Path tagSession(ChromeOptions options) {
+        if (!isEnabled() || argument(options, "--user-data-dir") != null) return null;
+        Path dir = profileRoot().resolve(JVM_PID + "-" + sessions.incrementAndGet());
+        addShutdownHook();
+        ProfileTemplate.cloneInto(dir, options);
+        options.addArguments("--user-data-dir=" + dir.toAbsolutePath());
+        return dir;
+    }
+
+    // chromedriver's --log-path, inside a directory named like a profile so the driver carries
+    // the same tag as its browsers; null when the reaper is off
+    public static File driverLog() {
+        if (!isEnabled()) return null;
+        Path dir = profileRoot().resolve(JVM_PID + "-driver");
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            log.warn("Could not create {}: {}", dir, e.getMessage());
+            return null;
+        }
+        addShutdownHook();
+        return dir.resolve("chromedriver-" + sessions.incrementAndGet() + ".log").toFile();
+    }
+
+    public static void register(WebDriver driver, Path profile) {
+        if (driver != null && profile != null) profiles.put(driver, profile);
+    }
+
+    public static Path profileOf(WebDriver driver) {
+        return driver == null ? null : profiles.get(driver);
+    }
+
+    // Kills the browser (and a per-session chromedriver) behind a hung session; the WebDriver
+    // call it was stuck in then fails, so the test ends and its teardown runs
+    public static int killSession(WebDriver driver) {
+        Path profile = profileOf(driver);
+        if (!isEnabled() || profile == null) return 0;
+        List<ProcessInfo> processes = listProcesses();
+        Set<String> victims = new LinkedHashSet<>();
+        for (ProcessInfo process : processes) {
+            if (!isSessionProcess(process, profile)) continue;
+            victims.add(process.pid);
+            ProcessInfo parent = find(processes, process.parent);
+            // The shared chromedriver serves every other session, so only a dedicated one goes
+            if (parent != null && parent.args.contains("chromedriver") && !DriverServiceManager.isShared()) {
+                victims.add(parent.pid);
+            }
+        }
+        int killed = kill(ownedByUs(processes, withDescendants(processes, victims)));
+        deleteProfile(profile);
+        return killed;
+    }
+
+    // Resident memory of a session's whole browser tree (browser, renderers, GPU), or -1 if unknown
+    public static long rssBytes(WebDriver driver) {
+        Path profile = profileOf(driver);
+        if (!isEnabled() || profile == null) return -1;
+        List<ProcessInfo> processes = listProcesses();
+        Set<String> roots = new LinkedHashSet<>();
+        for (ProcessInfo process : processes) {
+            if (isSessionProcess(process, profile)) roots.add(process.pid);
+        }
+        if (roots.isEmpty()) return -1;
+        Set<String> tree = withDescendants(processes, roots);
+        long kb = 0;
+        for (ProcessInfo process : processes) {
+            if (tree.contains(process.pid)) kb += process.rssKb;
+        }
+        return kb * 1024;
+    }
+
+    // Suite start: clean up after earlier runs whose JVM is gone
+    public static void reapOrphans() {
+        if (!isEnabled()) {
+            log.info("Process reaper disabled.");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        List<ProcessInfo> processes = listProcesses();
+        if (processes.isEmpty()) return; // without a process list every owner would look dead
+        Set<String> alive = new LinkedHashSet<>();
+        for (ProcessInfo process : processes) alive.add(process.pid);
+
+        String root = profileRoot().toAbsolutePath().toString();
+        Set<String> victims = new LinkedHashSet<>();
+        for (ProcessInfo process : processes) {
+            if (process.pid.equals(JVM_PID)) continue;
+            String owner = ownerPid(process.args, root);
+            if (owner == null) continue;
+            boolean ownerDead = !owner.equals(JVM_PID) && !alive.contains(owner);
+            // Reparented to init: whatever started it (a JVM or chromedriver) has died
+            boolean orphaned = process.isAutomation() && "1".equals(process.parent)
+                    && TestConfig.getBoolean("reaper.orphans", true);
+            if (ownerDead || orphaned) victims.add(process.pid);
+        }
+        int killed = kill(ownedByUs(processes, withDescendants(processes, victims)));
+
+        int deleted = 0;
+        long staleMillis = TimeUnit.MINUTES.toMillis(TestConfig.getLong("reaper.staleMinutes", 60));
+        for (Path dir : list(profileRoot())) {
+            String owner = dir.getFileName().toString().split("-")[0];
+            if (!owner.equals(JVM_PID) && !alive.contains(owner) && deleteProfile(dir)) deleted++;
+        }
+        // chromedriver's own temp profiles, for sessions started without a tag
+        for (Path dir : list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            String name = dir.getFileName().toString();
+            if (!name.startsWith(".org.chromium.Chromium.") && !name.startsWith("scoped_dir")) continue;
+            if (isOlderThan(dir, staleMillis) && !inUse(processes, dir) && deleteProfile(dir)) deleted++;
+        }
+
+        if (killed > 0 || deleted > 0) {
+            log.warn("🧟 Reaped {} leftover browser/driver processes and {} stale profiles in {} ms",
+                    killed, deleted, System.currentTimeMillis() - start);
+        } else {
+            log.info("No leftover browser/driver processes ({} ms).", System.currentTimeMillis() - start);
+        }
+    }
+
+    // ====================== Processes ======================
+
+    static List<ProcessInfo> listProcesses() {
+        List<ProcessInfo> processes = new ArrayList<>();
+        try {
+            Process ps = new ProcessBuilder("ps", "-Ao", "pid=,ppid=,uid=,rss=,args=").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(ps.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String[] parts = line.trim().split("\\s+", 5);
+                    if (parts.length == 5 && parts[0].matches("\\d+") && parts[3].matches("\\d+")) {
+                        processes.add(new ProcessInfo(parts[0], parts[1], parts[2], Long.parseLong(parts[3]), parts[4]));
+                    }
+                }
+            }
+            ps.waitFor(10, TimeUnit.SECONDS);
+        } catch (IOException e) {
+            log.warn("Could not list processes: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return processes;
+    }
+
+    // Chrome's renderer/GPU children don't always carry the profile flag, so the tree goes too
+    static Set<String> withDescendants(List<ProcessInfo> processes, Set<String> roots) {
+        Set<String> all = new LinkedHashSet<>(roots);
+        boolean grew = true;
+        while (grew) {
+            grew = false;
+            for (ProcessInfo process : processes) {
+                if (all.contains(process.parent) && all.add(process.pid)) grew = true;
+            }
+        }
+        all.remove(JVM_PID);
+        return all;
+    }
+
+    // Drops pids run by another user; with no row for this JVM the user is unknown and none are kept
+    static Set<String> ownedByUs(List<ProcessInfo> processes, Set<String> pids) {
+        Set<String> owned = new LinkedHashSet<>();
+        ProcessInfo self = find(processes, JVM_PID);
+        if (self == null) return owned;
+        for (ProcessInfo process : processes) {
+            if (pids.contains(process.pid) && process.uid.equals(self.uid)) owned.add(process.pid);
+        }
+        return owned;
+    }
+
+    private static int kill(Collection<String> pids) {
+        if (pids.isEmpty()) return 0;
+        List<String> command = new ArrayList<>();
+        command.add("kill");
+        command.add("-9");
+        command.addAll(pids);
+        try {
+            Process kill = new ProcessBuilder(command).redirectErrorStream(true).start();
+            kill.waitFor(10, TimeUnit.SECONDS);
+            log.info("Killed processes {}", pids);
+        } catch (IOException e) {
+            log.warn("Could not kill {}: {}", pids, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return pids.size();
+    }
+
+    // "<pid>-1" must not match "<pid>-12"
+    private static boolean isSessionProcess(ProcessInfo process, Path profile) {
+        String marker = "--user-data-dir=" + profile.toAbsolutePath();
+        return process.args.contains(marker + " ") || process.args.endsWith(marker);
+    }
+
+    private static ProcessInfo find(List<ProcessInfo> processes, String pid) {
+        for (ProcessInfo process : processes) {
+            if (process.pid.equals(pid)) return process;
+        }
+        return null;
+    }
+
+    // --user-data-dir=<profileDir>/<jvm pid>-<n> (a browser) or --log-path=<profileDir>/<jvm pid>-driver/...
+    // (a chromedriver) in the command line -> the jvm pid; only the flags count, so a shell or
+    // editor that merely mentions the path is left alone
+    static String ownerPid(String args, String root) {
+        for (String flag : new String[] {"--user-data-dir=", "--log-path="}) {
+            String tag = flag + root + File.separator;
+            int at = args.indexOf(tag);
+            if (at < 0) continue;
+            String rest = args.substring(at + tag.length());
+            int dash = rest.indexOf('-');
+            if (dash > 0 && rest.substring(0, dash).matches("\\d+")) return rest.substring(0, dash);
+        }
+        return null;
+    }
+
+    // The first Chrome argument starting with prefix, or null
+    static String argument(ChromeOptions options, String prefix) {
+        Object chrome = options.asMap().get(ChromeOptions.CAPABILITY);
+        if (!(chrome instanceof Map)) return null;
+        Object args = ((Map<?, ?>) chrome).get("args");
+        if (!(args instanceof Collection)) return null;
+        for (Object arg : (Collection<?>) args) {
+            if (String.valueOf(arg).startsWith(prefix)) return String.valueOf(arg);
+        }
+        return null;
+    }
+
+    // ====================== Profiles ======================
+
+    private static boolean inUse(List<ProcessInfo> processes, Path dir) {
+        String path = dir.toAbsolutePath().toString();
+        for (ProcessInfo process : processes) {
+            if (process.args.contains(path)) return true;
+        }
+        return false;
+    }
+
+    private static boolean isOlderThan(Path dir, long millis) {
+        try {
+            return System.currentTimeMillis() - Files.getLastModifiedTime(dir).toMillis() > millis;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static List<Path> list(Path dir) {
+        List<Path> entries = new ArrayList<>();
+        if (!Files.isDirectory(dir)) return entries;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(Files::isDirectory).forEach(entries::add);
+        } catch (IOException e) {
+            log.warn("Could not list {}: {}", dir, e.getMessage());
+        }
+        return entries;
+    }
+
+    static boolean deleteProfile(Path dir) {
+        if (!Files.exists(dir)) return false;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not delete profile {}: {}", dir, e.getMessage());
+            return false;
+        }
+    }
+
+    // This run's profiles go when the JVM exits normally; after a kill, the next run's reapOrphans
+    private static synchronized void addShutdownHook() {
+        if (shutdownHookAdded) return;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Path dir : list(profileRoot())) {
+                if (dir.getFileName().toString().startsWith(JVM_PID + "-")) deleteProfile(dir);
+            }
+        }, "profile-cleanup"));
+        shutdownHookAdded = true;
+    }
+}
@@ -0,0 +1,173 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import pages.DoctorDashboardPage;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Warm starts (-Dezyscribe.profiles.warm=true): once per run a template profile logs in with the
+// doctor test account (doctor.email / doctor.password) and loads the tasks page, so the login and
+// dashboard JS/CSS bundles sit in its HTTP cache, then has its cookies and storage wiped. Every session ProcessReaper tags starts in a copy of it instead of an empty
+// profile, and paints from cache. The copy is cp --reflink=auto (clonefile on macOS): copy-on-write
+// where the filesystem can, a plain copy where it can't. Hardlinks would be cheaper still, but
+// Chrome rewrites cache entries in place, so one session would change every other's.
+// Incognito keeps its cache in memory, so sessions that want a warm start use freshSession()
+// instead of --incognito. Needs the reaper's per-session profiles (Unix, -Dezyscribe.reaper on).
+public class ProfileTemplate {
+    private static final Logger log = LogManager.getLogger(ProfileTemplate.class);
+
+    private static Path template;
+    private static boolean unavailable = false;
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("profiles.warm", false) && ProcessReaper.isEnabled();
+    }
+
+    // A session that starts with no cookies or storage: incognito normally, a clean clone of the
+    // template in warm mode
+    public static void freshSession(ChromeOptions options) {
+        if (!isEnabled()) options.addArguments("--incognito");
+    }
+
+    // Called by ProcessReaper.tagSession before the browser starts in `dir`
+    static void cloneInto(Path dir, ChromeOptions options) {
+        if (!isEnabled() || ProcessReaper.argument(options, "--incognito") != null) return;
+        Path source = template();
+        if (source == null) return;
+        long start = System.currentTimeMillis();
+        try {
+            String how = copy(source, dir);
+            log.debug("Profile {} cloned from the template ({}) in {} ms", dir.getFileName(), how, System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            log.warn("Could not clone the profile template, session starts cold: {}", e.getMessage());
+            ProcessReaper.deleteProfile(dir);
+        }
+    }
+
+    // ====================== Template ======================
+
+    private static synchronized Path template() {
+        if (template != null || unavailable) return template;
+        Path dir = ProcessReaper.profileRoot().resolve(ProcessReaper.jvmPid() + "-template");
+        long start = System.currentTimeMillis();
+        ChromeOptions options = new ChromeOptions();
+        // An explicit profile: tagSession leaves it alone, so this doesn't recurse
+        options.addArguments("--user-data-dir=" + dir.toAbsolutePath(), "--headless=new",
+                "--disable-extensions", "--disable-notifications", "--window-size=1920,1080");
+        WebDriver driver = null;
+        try {
+            driver = DriverServiceManager.newChromeDriver(options);
+            // Logged out, tasksUrl only redirects back to the login page and the dashboard's
+            // bundles never load; clearState logs the template out again afterwards
+            DoctorDashboardPage page = new DoctorDashboardPage(driver);
+            page.loginAsDoctor(TestConfig.getString("doctor.email", "testprovider@gmail.com"),
+                    TestConfig.getString("doctor.password", "12345678"));
+            settle(driver);
+            page.waitForDashboardToLoad();
+            driver.get(TestConfig.tasksUrl());
+            settle(driver);
+            clearState(driver);
+        } catch (WebDriverException e) {
+            log.warn("Could not build the profile template, sessions start cold: {}", e.getMessage());
+            unavailable = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unavailable = true;
+        } finally {
+            // Chrome writes its cache index out on a clean exit
+            if (driver != null) driver.quit();
+        }
+        if (unavailable) {
+            ProcessReaper.deleteProfile(dir);
+            return null;
+        }
+        // Locks and the open-tabs record belong to the browser that built it
+        try {
+            for (String lock : Arrays.asList("SingletonLock", "SingletonSocket", "SingletonCookie")) {
+                Files.deleteIfExists(dir.resolve(lock)); // dangling symlinks on Linux
+            }
+        } catch (IOException e) {
+            log.debug("Could not remove the template's locks: {}", e.getMessage());
+        }
+        ProcessReaper.deleteProfile(dir.resolve("Default").resolve("Sessions"));
+        log.info("🔥 Profile template built in {} ms: {}", System.currentTimeMillis() - start, dir);
+        return template = dir;
+    }
+
+    private static void settle(WebDriver driver) throws InterruptedException {
+        new WebDriverWait(driver, Duration.ofSeconds(30)).until(d ->
+                "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
+        // Lazy chunks and fonts are requested after load
+        Thread.sleep(TestConfig.getLong("profiles.settleMs", 2000));
+    }
+
+    // Everything but the caches, so a clone starts logged out like an incognito window
+    private static void clearState(WebDriver driver) {
+        if (!CdpSupport.isSupported(driver)) {
+            driver.manage().deleteAllCookies();
+            return;
+        }
+        CdpSupport.send(driver, "Network.clearBrowserCookies");
+        Map<String, Object> params = new HashMap<>();
+        params.put("origin", TestConfig.baseUrl());
+        params.put("storageTypes", "cookies,local_storage,session_storage,indexeddb,websql,service_workers");
+        CdpSupport.send(driver, "Storage.clearDataForOrigin", params);
+    }
+
+    // ====================== Copy ======================
+
+    private static String copy(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        boolean mac = System.getProperty("os.name").toLowerCase().contains("mac");
+        List<String> command = mac
+                ? Arrays.asList("cp", "-cR", source.toString(), target.toString())
+                : Arrays.asList("cp", "-R", "--reflink=auto", source.toString(), target.toString());
+        String cpFlags = String.join(" ", command.subList(0, command.size() - 2));
+        try {
+            Process cp = new ProcessBuilder(command).redirectErrorStream(true).start();
+            if (cp.waitFor(60, TimeUnit.SECONDS) && cp.exitValue() == 0) return cpFlags;
+            cp.destroyForcibly();
+            log.debug("{} failed, copying in Java", cpFlags);
+        } catch (IOException e) {
+            log.debug("cp not available ({}), copying in Java", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while cloning the profile template", e);
+        }
+        ProcessReaper.deleteProfile(target); // whatever a failed cp left
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile()) {
+                    Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return "copy";
+    }
+}
@@ -0,0 +1,144 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Keeps the last few seconds of a session as CDP screencast frames in a fixed-size ring buffer.
+// Nothing touches the disk unless persist() is called, which the listener only does on failure.
+public class ScreencastRecorder {
+    private static final Logger log = LogManager.getLogger(ScreencastRecorder.class);
+    private static final Map<WebDriver, ScreencastRecorder> recorders =
+            Collections.synchronizedMap(new WeakHashMap<WebDriver, ScreencastRecorder>());
+
+    private final byte[][] frames;
+    private final long[] timestamps;
+    private final long minFrameGapMs;
+    private int next = 0;
+    private int size = 0;
+    private long lastFrameAt = 0;
+
+    private ScreencastRecorder(int seconds, int fps) {
+        int capacity = Math.max(1, seconds * fps);
+        this.frames = new byte[capacity][];
+        this.timestamps = new long[capacity];
+        this.minFrameGapMs = 1000L / Math.max(1, fps);
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("screencast", false);
+    }
+
+    // Starts recording on first use for a driver, then returns the same recorder
+    public static ScreencastRecorder forDriver(WebDriver driver) {
+        if (!isEnabled() || driver == null || !CdpSupport.isSupported(driver)) return null;
+        synchronized (recorders) {
+            ScreencastRecorder recorder = recorders.get(driver);
+            if (recorder == null) {
+                recorder = new ScreencastRecorder(
+                        TestConfig.getInt("screencast.seconds", 20),
+                        TestConfig.getInt("screencast.fps", 5));
+                try {
+                    recorder.start(driver);
+                } catch (RuntimeException e) {
+                    log.warn("Screencast not available for this session: {}", e.getMessage());
+                    return null;
+                }
+                recorders.put(driver, recorder);
+            }
+            return recorder;
+        }
+    }
+
+    public static ScreencastRecorder existing(WebDriver driver) {
+        return driver == null ? null : recorders.get(driver);
+    }
+
+    private void start(WebDriver driver) {
+        DevTools devTools = CdpSupport.devTools(driver);
+        CdpSupport.listen(devTools, "Page.screencastFrame", frame -> {
+            onFrame((String) frame.get("data"));
+            Map<String, Object> ack = new HashMap<>();
+            ack.put("sessionId", frame.get("sessionId"));
+            CdpSupport.sendNoWait(devTools, "Page.screencastFrameAck", ack);
+        });
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("format", "jpeg");
+        params.put("quality", TestConfig.getInt("screencast.quality", 50));
+        params.put("maxWidth", TestConfig.getInt("screencast.maxWidth", 960));
+        params.put("maxHeight", TestConfig.getInt("screencast.maxHeight", 540));
+        CdpSupport.send(devTools, "Page.startScreencast", params);
+        log.info("Screencast ring buffer started ({} frames)", frames.length);
+    }
+
+    private synchronized void onFrame(String base64) {
+        long now = System.currentTimeMillis();
+        // Chrome pushes frames as fast as the page repaints; keep at most the configured fps
+        if (base64 == null || now - lastFrameAt < minFrameGapMs) return;
+        lastFrameAt = now;
+        frames[next] = Base64.getDecoder().decode(base64);
+        timestamps[next] = now;
+        next = (next + 1) % frames.length;
+        if (size < frames.length) size++;
+    }
+
+    // Drops earlier frames so a failure trace only shows the current test
+    public synchronized void reset() {
+        for (int i = 0; i < frames.length; i++) frames[i] = null;
+        next = 0;
+        size = 0;
+    }
+
+    // Writes the buffered frames as a JPEG sequence plus an ffmpeg concat list, returns the
+    // directory relative to the output dir, or null if there was nothing to write
+    public String persist(String name) {
+        byte[][] snapshot;
+        long[] times;
+        synchronized (this) {
+            if (size == 0) return null;
+            snapshot = new byte[size][];
+            times = new long[size];
+            int start = (next - size + frames.length) % frames.length;
+            for (int i = 0; i < size; i++) {
+                snapshot[i] = frames[(start + i) % frames.length];
+                times[i] = timestamps[(start + i) % frames.length];
+            }
+        }
+
+        String stamp = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String relative = "traces/" + name.replaceAll("[^A-Za-z0-9_.-]", "_") + "_" + stamp;
+        Path dir = Paths.get(TestConfig.outputDir(), relative);
+        try {
+            Files.createDirectories(dir);
+            try (Writer list = Files.newBufferedWriter(dir.resolve("frames.txt"), StandardCharsets.UTF_8)) {
+                for (int i = 0; i < snapshot.length; i++) {
+                    String file = String.format("frame_%04d.jpg", i + 1);
+                    Files.write(dir.resolve(file), snapshot[i]);
+                    double seconds = i + 1 < times.length ? (times[i + 1] - times[i]) / 1000.0 : 0.5;
+                    list.write("file '" + file + "'\nduration " + seconds + "\n");
+                }
+            }
+            log.info("Saved {} screencast frames to {}", snapshot.length, dir);
+            return relative;
+        } catch (IOException e) {
+            log.error("Failed to persist screencast to {}", dir, e);
+            return null;
+        }
+    }
+}
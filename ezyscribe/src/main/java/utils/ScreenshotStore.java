@@ -0,0 +1,112 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Content-addressed store for screenshots and DOM dumps.
+// The test thread only grabs the raw payload from the driver; decoding, hashing and
+// writing happen on a single background writer, so identical screens land on disk once.
+public class ScreenshotStore {
+    private static final Logger log = LogManager.getLogger(ScreenshotStore.class);
+
+    // Paths handed back are relative to the output dir, which is where the Extent report lives
+    private static final String STORE_DIR = "screenshots";
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "screenshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public static CompletableFuture<String> captureScreenshot(WebDriver driver) {
+        final String base64;
+        try {
+            base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            log.warn("Could not take screenshot: {}", e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> store(Base64.getMimeDecoder().decode(base64), "png"), writer);
+    }
+
+    public static CompletableFuture<String> captureDom(WebDriver driver) {
+        final String source;
+        try {
+            source = driver.getPageSource();
+        } catch (Exception e) {
+            log.warn("Could not read page source: {}", e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> store(source.getBytes(StandardCharsets.UTF_8), "html"), writer);
+    }
+
+    // For bytes the caller already has, e.g. a screenshot that was hashed first
+    public static CompletableFuture<String> storeAsync(byte[] content, String extension) {
+        return CompletableFuture.supplyAsync(() -> store(content, extension), writer);
+    }
+
+    // Takes a screenshot for a chosen step and links it to the current Extent test
+    public static void captureStep(WebDriver driver, String title) {
+        ExtentReportManager.attachWhenReady(ExtentReportManager.getTest(), captureScreenshot(driver), title);
+    }
+
+    // Blocks until everything queued so far is on disk
+    public static void awaitPending(long timeout, TimeUnit unit) {
+        try {
+            CompletableFuture.runAsync(() -> { }, writer).get(timeout, unit);
+        } catch (Exception e) {
+            log.warn("Screenshot writer did not drain in time: {}", e.getMessage());
+        }
+    }
+
+    private static String store(byte[] content, String extension) {
+        String hash = sha256(content);
+        String relative = STORE_DIR + "/" + hash.substring(0, 2) + "/" + hash + "." + extension;
+        Path target = Paths.get(TestConfig.outputDir(), relative);
+        try {
+            if (Files.exists(target)) {
+                log.debug("Reusing stored artifact {}", relative);
+                return relative;
+            }
+            Files.createDirectories(target.getParent());
+            Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            Files.write(tmp, content);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Stored artifact {} ({} bytes)", relative, content.length);
+            return relative;
+        } catch (IOException e) {
+            log.error("Failed to store artifact {}", relative, e);
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,336 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Known tasks created before a test class runs and removed after it, so search, filter and sort
+// checks work on data they chose instead of whatever the tenant happens to hold.
+// -Dezyscribe.fixtures.mode picks the backend:
+//   off  (default) nothing is seeded; tests fall back to reading the table
+//   http the app's task API, authenticated with fixtures.token or a login call
+//   file writes straight into a local stand-in's JSON data file (json-server style db.json)
+// Endpoints, field names and the status/priority sets are all -Dezyscribe.fixtures.* overridable.
+public class TaskFixtures implements AutoCloseable {
+    private static final Logger log = LogManager.getLogger(TaskFixtures.class);
+    private static final Json JSON = new Json();
+
+    public static class TaskSpec {
+        public final String title;
+        public final String status;
+        public final String priority;
+
+        public TaskSpec(String title, String status, String priority) {
+            this.title = title;
+            this.status = status;
+            this.priority = priority;
+        }
+    }
+
+    public static class SeededTask {
+        public final String id;
+        // What the dashboard shows in the task ID column and what search matches on
+        public final String taskId;
+        public final String status;
+        public final String priority;
+
+        SeededTask(String id, String taskId, TaskSpec spec) {
+            this.id = id;
+            this.taskId = taskId;
+            this.status = spec.status;
+            this.priority = spec.priority;
+        }
+
+        @Override
+        public String toString() {
+            return taskId + " (" + status + ", " + priority + ")";
+        }
+    }
+
+    interface Backend {
+        SeededTask create(TaskSpec spec) throws IOException;
+
+        void delete(SeededTask task) throws IOException;
+    }
+
+    private final Backend backend;
+    private final List<SeededTask> created = new ArrayList<>();
+
+    private TaskFixtures(Backend backend) {
+        this.backend = backend;
+    }
+
+    public static String mode() {
+        return TestConfig.getString("fixtures.mode", "off");
+    }
+
+    // One task per status x priority from fixtures.statuses / fixtures.priorities, titled with a
+    // run tag so leftovers from an aborted run are easy to find and clean up
+    public static List<TaskSpec> standardSet() {
+        String tag = "e2e-" + Long.toString(System.currentTimeMillis(), 36);
+        List<TaskSpec> specs = new ArrayList<>();
+        for (String status : TestConfig.getString("fixtures.statuses", "Pending,In Progress,Completed").split(",")) {
+            for (String priority : TestConfig.getString("fixtures.priorities", "High,Medium,Low").split(",")) {
+                specs.add(new TaskSpec(tag + " " + status.trim() + "/" + priority.trim(), status.trim(), priority.trim()));
+            }
+        }
+        return specs;
+    }
+
+    // Creates the tasks as the given user; with fixtures.mode=off this returns an empty set
+    public static TaskFixtures seed(String email, String password, List<TaskSpec> specs) {
+        Backend backend;
+        switch (mode()) {
+            case "http":
+                backend = new HttpBackend(email, password);
+                break;
+            case "file":
+                backend = new FileBackend(Paths.get(TestConfig.getString("fixtures.dataFile", "standin/db.json")));
+                break;
+            default:
+                return new TaskFixtures(null);
+        }
+
+        TaskFixtures fixtures = new TaskFixtures(backend);
+        long start = System.currentTimeMillis();
+        try {
+            for (TaskSpec spec : specs) {
+                fixtures.created.add(backend.create(spec));
+            }
+        } catch (IOException | RuntimeException e) {
+            fixtures.close();
+            throw new IllegalStateException("❌ Could not seed task fixtures (" + mode() + "): " + e.getMessage(), e);
+        }
+        log.info("🌱 Seeded {} tasks via {} in {} ms", fixtures.created.size(), mode(), System.currentTimeMillis() - start);
+        return fixtures;
+    }
+
+    public boolean isSeeded() {
+        return !created.isEmpty();
+    }
+
+    public List<SeededTask> tasks() {
+        return Collections.unmodifiableList(created);
+    }
+
+    // Task IDs in the order an ascending Task # sort should show them
+    public List<String> taskIdsAscending() {
+        List<SeededTask> sorted = new ArrayList<>(created);
+        sorted.sort((a, b) -> Long.compare(number(a.taskId), number(b.taskId)));
+        List<String> ids = new ArrayList<>();
+        for (SeededTask task : sorted) ids.add(task.taskId);
+        return ids;
+    }
+
+    private static long number(String taskId) {
+        String digits = taskId.replaceAll("[^0-9]", "");
+        return digits.isEmpty() ? -1 : Long.parseLong(digits);
+    }
+
+    public SeededTask first() {
+        if (created.isEmpty()) throw new IllegalStateException("No task fixtures were seeded");
+        return created.get(0);
+    }
+
+    // Removes everything this instance created, newest first; failures are logged, not thrown,
+    // so teardown never hides the test's own result
+    @Override
+    public void close() {
+        for (int i = created.size() - 1; i >= 0; i--) {
+            SeededTask task = created.get(i);
+            try {
+                backend.delete(task);
+            } catch (IOException | RuntimeException e) {
+                log.warn("⚠️ Could not delete seeded task {}: {}", task, e.getMessage());
+            }
+        }
+        if (!created.isEmpty()) log.info("🧹 Removed {} seeded tasks", created.size());
+        created.clear();
+    }
+
+    private static String field(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value == null ? null : value instanceof Double && (Double) value % 1 == 0
+                ? String.valueOf(((Double) value).longValue()) : String.valueOf(value);
+    }
+
+    private static Map<String, Object> taskBody(TaskSpec spec) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(TestConfig.getString("fixtures.titleField", "title"), spec.title);
+        body.put(TestConfig.getString("fixtures.statusField", "status"), spec.status);
+        body.put(TestConfig.getString("fixtures.priorityField", "priority"), spec.priority);
+        return body;
+    }
+
+    // ====================== HTTP: the real task API ======================
+    static class HttpBackend implements Backend {
+        private final String apiUrl = TestConfig.getString("fixtures.apiUrl", TestConfig.baseUrl() + "/api").replaceAll("/+$", "");
+        private final String email;
+        private final String password;
+        private String token = TestConfig.getString("fixtures.token", null);
+
+        HttpBackend(String email, String password) {
+            this.email = email;
+            this.password = password;
+        }
+
+        @Override
+        public SeededTask create(TaskSpec spec) throws IOException {
+            Map<String, Object> response = call("POST", TestConfig.getString("fixtures.createPath", "/tasks"), taskBody(spec));
+            // Some APIs wrap the created entity, e.g. {"data": {...}}
+            Object data = response.get("data");
+            if (data instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> inner = (Map<String, Object>) data;
+                response = inner;
+            }
+            String id = field(response, TestConfig.getString("fixtures.idField", "id"));
+            if (id == null) throw new IOException("create response has no id: " + response);
+            String taskId = field(response, TestConfig.getString("fixtures.taskIdField", "task_id"));
+            return new SeededTask(id, taskId == null ? id : taskId, spec);
+        }
+
+        @Override
+        public void delete(SeededTask task) throws IOException {
+            call("DELETE", TestConfig.getString("fixtures.deletePath", "/tasks/{id}").replace("{id}", task.id), null);
+        }
+
+        private String token() throws IOException {
+            if (token != null) return token;
+            Map<String, Object> credentials = new LinkedHashMap<>();
+            credentials.put("email", email);
+            credentials.put("password", password);
+            Map<String, Object> response = send("POST", TestConfig.getString("fixtures.loginPath", "/auth/login"), credentials, null);
+            for (String key : TestConfig.getString("fixtures.tokenFields", "token,access_token,accessToken").split(",")) {
+                if (response.get(key.trim()) != null) return token = String.valueOf(response.get(key.trim()));
+            }
+            throw new IOException("login response has no token field");
+        }
+
+        private Map<String, Object> call(String method, String path, Map<String, Object> body) throws IOException {
+            return send(method, path, body, token());
+        }
+
+        private Map<String, Object> send(String method, String path, Map<String, Object> body, String bearer) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(apiUrl + path).openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(TestConfig.getInt("fixtures.timeoutMs", 10000));
+            connection.setReadTimeout(TestConfig.getInt("fixtures.timeoutMs", 10000));
+            connection.setRequestProperty("Accept", "application/json");
+            if (bearer != null) connection.setRequestProperty("Authorization", "Bearer " + bearer);
+            if (body != null) {
+                connection.setDoOutput(true);
+                connection.setRequestProperty("Content-Type", "application/json");
+                try (OutputStream out = connection.getOutputStream()) {
+                    out.write(JSON.toJson(body).getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = connection.getResponseCode();
+            String text = read(status >= 400 ? connection.getErrorStream() : connection.getInputStream());
+            if (status >= 400) {
+                throw new IOException(method + " " + path + " -> HTTP " + status + ": " + text);
+            }
+            if (text.trim().startsWith("{")) {
+                return JSON.toType(text, Json.MAP_TYPE);
+            }
+            return Collections.emptyMap();
+        }
+
+        private static String read(InputStream in) throws IOException {
+            if (in == null) return "";
+            try (InputStream stream = in) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = stream.read(buffer)) > 0) bytes.write(buffer, 0, n);
+                return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    // ====================== File: a local stand-in's data ======================
+    static class FileBackend implements Backend {
+        private final Path file;
+        private final String collection = TestConfig.getString("fixtures.collection", "tasks");
+
+        FileBackend(Path file) {
+            this.file = file;
+        }
+
+        @Override
+        public synchronized SeededTask create(TaskSpec spec) throws IOException {
+            Map<String, Object> db = load();
+            List<Object> tasks = tasks(db);
+            long next = 1;
+            for (Object task : tasks) {
+                if (!(task instanceof Map)) continue;
+                try {
+                    next = Math.max(next, Long.parseLong(field(asMap(task), "id")) + 1);
+                } catch (NumberFormatException ignored) { }
+            }
+            Map<String, Object> task = taskBody(spec);
+            String id = String.valueOf(next);
+            String taskId = TestConfig.getString("fixtures.taskIdPrefix", "") + id;
+            task.put("id", next);
+            task.put(TestConfig.getString("fixtures.taskIdField", "task_id"), taskId);
+            tasks.add(task);
+            save(db);
+            return new SeededTask(id, taskId, spec);
+        }
+
+        @Override
+        public synchronized void delete(SeededTask task) throws IOException {
+            Map<String, Object> db = load();
+            for (Iterator<Object> it = tasks(db).iterator(); it.hasNext(); ) {
+                Object entry = it.next();
+                if (entry instanceof Map && task.id.equals(field(asMap(entry), "id"))) it.remove();
+            }
+            save(db);
+        }
+
+        private Map<String, Object> load() throws IOException {
+            if (!Files.exists(file)) return new LinkedHashMap<>();
+            return new LinkedHashMap<>(JSON.toType(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), Json.MAP_TYPE));
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<Object> tasks(Map<String, Object> db) {
+            Object existing = db.get(collection);
+            List<Object> tasks = existing instanceof List ? new ArrayList<>((List<Object>) existing) : new ArrayList<>();
+            db.put(collection, tasks);
+            return tasks;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> asMap(Object value) {
+            return (Map<String, Object>) value;
+        }
+
+        // Atomic replace, so a stand-in watching the file never reads half of it
+        private void save(Map<String, Object> db) throws IOException {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, "db", ".tmp");
+            Files.write(tmp, JSON.toJson(db).getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
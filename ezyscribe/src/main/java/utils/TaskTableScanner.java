@@ -0,0 +1,224 @@
+package utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Walks the tasks table page by page and hands every row to a check as it goes.
+// Only the current page is ever held (read in one script call) plus the last row of the
+// previous page, so sort order is checked at page boundaries and memory stays flat no
+// matter how many tasks the tenant has. Time doesn't: a scan stops after table.maxPages (10)
+// pages, so a big tenant doesn't make every filter and sort test slower; 0 walks them all.
+// The "No results" placeholder row (no task link, one cell) is not a data row.
+public class TaskTableScanner {
+    private static final Logger log = LogManager.getLogger(TaskTableScanner.class);
+
+    // First link text of each row (the task number), then every cell's rendered text;
+    // innerText applies the badges' text-transform, matching what getText() sees
+    private static final String READ_PAGE =
+            "var rows = document.querySelectorAll('table tbody tr'), out = [];"
+            + "for (var i = 0; i < rows.length; i++) {"
+            + "  var link = rows[i].querySelector('a'), cells = rows[i].querySelectorAll('td');"
+            + "  if (!link && cells.length <= 1) continue;"
+            + "  var row = [link ? link.textContent.trim() : ''];"
+            + "  for (var c = 0; c < cells.length; c++) row.push(cells[c].innerText.trim());"
+            + "  out.push(row);"
+            + "}"
+            + "return out;";
+
+    private final WebDriver driver;
+    private final AdaptiveWait wait;
+    private final By nextPageButton;
+    private final int maxPages;
+
+    public TaskTableScanner(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new AdaptiveWait(driver, Duration.ofSeconds(15));
+        this.nextPageButton = By.xpath(TestConfig.getString("table.nextPageXpath",
+                "//button[@aria-label='Go to next page' or .//span[normalize-space()='Go to next page']]"));
+        this.maxPages = TestConfig.getInt("table.maxPages", 10);
+    }
+
+    public static class Row {
+        public final int index;
+        public final int page;
+        private final List<String> values;
+
+        public Row(int index, int page, List<String> values) {
+            this.index = index;
+            this.page = page;
+            this.values = values;
+        }
+
+        public String taskId() {
+            return values.isEmpty() ? "" : values.get(0);
+        }
+
+        public long taskNumber() {
+            String digits = taskId().replaceAll("[^0-9]", "");
+            return digits.isEmpty() ? -1 : Long.parseLong(digits);
+        }
+
+        // 1-based like the td[n] locators in the page objects
+        public String cell(int column) {
+            return column < values.size() ? values.get(column) : "";
+        }
+
+        @Override
+        public String toString() {
+            return "row " + index + " (page " + page + ", " + taskId() + ")";
+        }
+    }
+
+    public static class Result {
+        public final String name;
+        public final long rows;
+        public final int pages;
+        public final long millis;
+        // Stopped at table.maxPages with more pages left
+        public final boolean truncated;
+
+        Result(String name, long rows, int pages, long millis, boolean truncated) {
+            this.name = name;
+            this.rows = rows;
+            this.pages = pages;
+            this.millis = millis;
+            this.truncated = truncated;
+        }
+
+        public double rowsPerSecond() {
+            return rows * 1000.0 / Math.max(1, millis);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d rows over %d pages in %d ms (%.1f rows/s)%s",
+                    name, rows, pages, millis, rowsPerSecond(), truncated ? ", stopped at table.maxPages" : "");
+        }
+    }
+
+    // Runs the check on every row, page after page, until the next-page button is gone or disabled
+    public Result scan(String name, Consumer<Row> check) {
+        return scan(name, check, () -> false);
+    }
+
+    // As above, but also stops once `done` holds after a page
+    public Result scan(String name, Consumer<Row> check, BooleanSupplier done) {
+        long start = System.currentTimeMillis();
+        long rowIndex = 0;
+        int page = 0;
+        String previousFirstKey = null;
+        boolean truncated = false;
+
+        while (true) {
+            page++;
+            List<List<String>> rows = readPage();
+            if (rows.isEmpty()) break;
+            String firstKey = key(rows.get(0));
+            if (firstKey.equals(previousFirstKey)) {
+                throw new AssertionError("❌ " + name + ": page " + page + " repeats page " + (page - 1) + " (" + firstKey + ")");
+            }
+            for (List<String> values : rows) {
+                check.accept(new Row((int) ++rowIndex, page, values));
+            }
+            if (done.getAsBoolean() || !hasNextPage()) break;
+            if (maxPages > 0 && page >= maxPages) {
+                truncated = true;
+                break;
+            }
+            goToNextPage(firstKey);
+            previousFirstKey = firstKey;
+        }
+
+        Result result = new Result(name, rowIndex, page, System.currentTimeMillis() - start, truncated);
+        log.info("📑 {}", result);
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) test.info("📑 " + result);
+        return result;
+    }
+
+    // Ascending task numbers across the whole table; only the previous row is remembered
+    public Result verifyAscendingTaskIds() {
+        final long[] previous = {Long.MIN_VALUE};
+        final Row[] previousRow = {null};
+        return scan("Ascending task IDs", row -> {
+            long number = row.taskNumber();
+            if (number < 0) return;
+            if (number < previous[0]) {
+                throw new AssertionError("❌ Task IDs out of order: " + previousRow[0] + " > " + row);
+            }
+            previous[0] = number;
+            previousRow[0] = row;
+        });
+    }
+
+    // The given task IDs all show up, in that order, wherever they fall among the other rows.
+    // Stops at the last of them; if table.maxPages ends the scan first, the result is truncated
+    // and the caller decides what else to check, since the rest may well be further on
+    public Result verifyTaskIdsInOrder(final List<String> taskIds) {
+        final int[] next = {0};
+        Result result = scan("Task order of " + taskIds, row -> {
+            int position = taskIds.indexOf(row.taskId());
+            if (position < 0) return;
+            if (position != next[0]) {
+                throw new AssertionError("❌ " + row + " is out of order; expected " + taskIds.get(next[0]) + " before it");
+            }
+            next[0]++;
+        }, () -> next[0] == taskIds.size());
+        if (next[0] < taskIds.size() && !result.truncated) {
+            throw new AssertionError("❌ Tasks missing from the table: " + taskIds.subList(next[0], taskIds.size()));
+        }
+        return result;
+    }
+
+    // Every row's cell in the given column shows the expected value, matched like
+    // textToBePresentInElementLocated but case-insensitive
+    public Result verifyColumnContains(final int column, final String columnName, final String expected) {
+        return scan(columnName + " = " + expected, row -> {
+            String actual = row.cell(column);
+            if (!actual.toLowerCase().contains(expected.trim().toLowerCase())) {
+                throw new AssertionError("❌ " + columnName + " filter leaked: " + row + " shows '" + actual
+                        + "', expected '" + expected + "'");
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<String>> readPage() {
+        Object rows = ((JavascriptExecutor) driver).executeScript(READ_PAGE);
+        return rows == null ? Collections.<List<String>>emptyList() : (List<List<String>>) rows;
+    }
+
+    private WebElement nextPage() {
+        List<WebElement> buttons = driver.findElements(nextPageButton);
+        if (buttons.isEmpty()) return null;
+        WebElement next = buttons.get(0);
+        return !next.isEnabled() || "true".equals(next.getAttribute("aria-disabled")) ? null : next;
+    }
+
+    private boolean hasNextPage() {
+        return nextPage() != null;
+    }
+
+    private void goToNextPage(String currentFirstKey) {
+        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", nextPage());
+        wait.until("table.nextPage", d -> {
+            List<List<String>> rows = readPage();
+            return !rows.isEmpty() && !key(rows.get(0)).equals(currentFirstKey);
+        });
+    }
+
+    private static String key(List<String> row) {
+        return row.isEmpty() ? "" : row.get(0).isEmpty() && row.size() > 1 ? row.get(1) : row.get(0);
+    }
+}
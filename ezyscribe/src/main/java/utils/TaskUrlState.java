@@ -0,0 +1,104 @@
+package utils;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// A /tasks dashboard state expressed as URL parameters, so a test can land on "status X,
+// sorted by task ID" with one navigation instead of a round of popovers and waits.
+// Parameter names and value formats follow the data-table URL state the dashboard uses and
+// can be changed with -Dezyscribe.url.param.<search|status|priority|sort|hide>,
+// -Dezyscribe.url.sortFormat and -Dezyscribe.url.slugValues.
+public class TaskUrlState {
+
+    private String search;
+    private String status;
+    private String priority;
+    private String sortColumn;
+    private boolean sortDescending;
+    private final List<String> hiddenColumns = new ArrayList<>();
+
+    public TaskUrlState search(String taskId) {
+        this.search = taskId;
+        return this;
+    }
+
+    public TaskUrlState status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    public TaskUrlState priority(String priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    public TaskUrlState sortAscending(String column) {
+        this.sortColumn = column;
+        this.sortDescending = false;
+        return this;
+    }
+
+    public TaskUrlState hideColumn(String column) {
+        hiddenColumns.add(column);
+        return this;
+    }
+
+    public String search() { return search; }
+    public String status() { return status; }
+    public String priority() { return priority; }
+    public String sortColumn() { return sortColumn; }
+    public List<String> hiddenColumns() { return hiddenColumns; }
+
+    // The column id the app sorts task numbers by
+    public static String taskIdColumn() {
+        return TestConfig.getString("url.taskIdColumn", "number");
+    }
+
+    public String url() {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (search != null) params.put(param("search", "search"), search);
+        if (status != null) params.put(param("status", "status"), value(status));
+        if (priority != null) params.put(param("priority", "priority"), value(priority));
+        if (sortColumn != null) {
+            params.put(param("sort", "sort"), TestConfig.getString("url.sortFormat", "[{\"id\":\"{column}\",\"desc\":{desc}}]")
+                    .replace("{column}", sortColumn).replace("{desc}", String.valueOf(sortDescending)));
+        }
+        if (!hiddenColumns.isEmpty()) params.put(param("hide", "hide"), String.join(",", hiddenColumns));
+
+        StringBuilder url = new StringBuilder(TestConfig.tasksUrl());
+        char separator = '?';
+        for (Map.Entry<String, String> entry : params.entrySet()) {
+            url.append(separator).append(encode(entry.getKey())).append('=').append(encode(entry.getValue()));
+            separator = '&';
+        }
+        return url.toString();
+    }
+
+    @Override
+    public String toString() {
+        return url();
+    }
+
+    private static String param(String name, String fallback) {
+        return TestConfig.getString("url.param." + name, fallback);
+    }
+
+    // Filter options are shown as "In Progress" but usually stored as "in-progress"
+    private static String value(String label) {
+        if (!TestConfig.getBoolean("url.slugValues", true)) return label;
+        return label.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+    }
+
+    private static String encode(String text) {
+        try {
+            return URLEncoder.encode(text, "UTF-8").replace("+", "%20");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
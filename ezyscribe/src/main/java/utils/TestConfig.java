@@ -0,0 +1,78 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+// Central place for run-time switches, read from -D system properties.
+// Settings that describe the app rather than the run (e.g. its API endpoints) live in
+// ezyscribe.properties on the classpath; a -D property always wins over the file.
+public class TestConfig {
+
+    private static final String PREFIX = "ezyscribe.";
+    private static final String FILE = "ezyscribe.properties";
+    private static Properties file;
+
+    public static String getString(String key, String defaultValue) {
+        String value = System.getProperty(PREFIX + key);
+        if (value == null || value.trim().isEmpty()) value = fileProperties().getProperty(key);
+        return (value == null || value.trim().isEmpty()) ? defaultValue : value.trim();
+    }
+
+    private static synchronized Properties fileProperties() {
+        if (file == null) {
+            file = new Properties();
+            try (InputStream in = TestConfig.class.getClassLoader().getResourceAsStream(FILE)) {
+                if (in != null) file.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + FILE, e);
+            }
+        }
+        return file;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        try {
+            return Integer.parseInt(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        try {
+            return Long.parseLong(getString(key, String.valueOf(defaultValue)));
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)));
+    }
+
+    // ============ Application ============
+    public static String baseUrl() {
+        return getString("baseUrl", "https://appv2.ezyscribe.com").replaceAll("/+$", "");
+    }
+
+    public static String loginUrl() {
+        return baseUrl() + "/auth/login";
+    }
+
+    public static String tasksUrl() {
+        return baseUrl() + "/tasks";
+    }
+
+    // ============ Artifacts ============
+    public static String outputDir() {
+        return getString("outputDir", "test-output");
+    }
+
+    public static boolean captureDomOnFailure() {
+        return getBoolean("screenshots.dom", false);
+    }
+}
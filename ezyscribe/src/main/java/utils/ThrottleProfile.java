@@ -0,0 +1,157 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Named network/CPU conditions a session can be put under through CDP
+// (Network.emulateNetworkConditions, Emulation.setCPUThrottlingRate), to see how the dashboard
+// behaves on a clinic's connection. Built in: none, fast-3g, slow-3g (DevTools' presets) and
+// cpu-2x/cpu-4x/cpu-6x; "fast-3g+cpu-4x" combines two. More with
+// -Dezyscribe.throttle.profile.<name>=latencyMs,downKbps,upKbps,cpuRate.
+// While a profile is active on a thread, wait and duration histories are kept under
+// "<name>@<profile>" so throttled runs neither pollute nor are judged by the fast baselines.
+public class ThrottleProfile {
+    private static final Logger log = LogManager.getLogger(ThrottleProfile.class);
+
+    public static final ThrottleProfile NONE = new ThrottleProfile("none", 0, -1, -1, 1);
+
+    private static final Map<String, ThrottleProfile> BUILT_IN = new LinkedHashMap<>();
+    static {
+        BUILT_IN.put("none", NONE);
+        BUILT_IN.put("fast-3g", new ThrottleProfile("fast-3g", 563, 1440, 675, 1));
+        BUILT_IN.put("slow-3g", new ThrottleProfile("slow-3g", 2000, 400, 400, 1));
+        BUILT_IN.put("cpu-2x", new ThrottleProfile("cpu-2x", 0, -1, -1, 2));
+        BUILT_IN.put("cpu-4x", new ThrottleProfile("cpu-4x", 0, -1, -1, 4));
+        BUILT_IN.put("cpu-6x", new ThrottleProfile("cpu-6x", 0, -1, -1, 6));
+    }
+
+    private static final ThreadLocal<ThrottleProfile> current = new ThreadLocal<>();
+    private static final Map<WebDriver, String> applied = Collections.synchronizedMap(new WeakHashMap<WebDriver, String>());
+
+    public final String name;
+    public final long latencyMs;
+    // -1 means unthrottled
+    public final long downloadKbps;
+    public final long uploadKbps;
+    public final double cpuRate;
+
+    ThrottleProfile(String name, long latencyMs, long downloadKbps, long uploadKbps, double cpuRate) {
+        this.name = name;
+        this.latencyMs = latencyMs;
+        this.downloadKbps = downloadKbps;
+        this.uploadKbps = uploadKbps;
+        this.cpuRate = cpuRate;
+    }
+
+    public static ThrottleProfile named(String name) {
+        if (name == null || name.trim().isEmpty()) return NONE;
+        ThrottleProfile combined = null;
+        for (String part : name.trim().split("\\+")) {
+            ThrottleProfile profile = single(part.trim());
+            combined = combined == null ? profile : combined.with(profile, name.trim());
+        }
+        return combined;
+    }
+
+    private static ThrottleProfile single(String name) {
+        String custom = TestConfig.getString("throttle.profile." + name, null);
+        if (custom != null) {
+            String[] v = custom.split(",");
+            if (v.length != 4) throw new IllegalArgumentException("throttle.profile." + name + " needs latencyMs,downKbps,upKbps,cpuRate");
+            return new ThrottleProfile(name, Long.parseLong(v[0].trim()), Long.parseLong(v[1].trim()),
+                    Long.parseLong(v[2].trim()), Double.parseDouble(v[3].trim()));
+        }
+        ThrottleProfile profile = BUILT_IN.get(name);
+        if (profile == null) throw new IllegalArgumentException("Unknown throttle profile '" + name + "'; known: " + BUILT_IN.keySet());
+        return profile;
+    }
+
+    // Network settings from whichever side has them, the slower CPU rate
+    private ThrottleProfile with(ThrottleProfile other, String combinedName) {
+        boolean network = other.downloadKbps >= 0 || other.latencyMs > 0;
+        return new ThrottleProfile(combinedName,
+                network ? other.latencyMs : latencyMs,
+                network ? other.downloadKbps : downloadKbps,
+                network ? other.uploadKbps : uploadKbps,
+                Math.max(cpuRate, other.cpuRate));
+    }
+
+    public boolean isNone() {
+        return latencyMs <= 0 && downloadKbps < 0 && uploadKbps < 0 && cpuRate <= 1;
+    }
+
+    // Rough factor for fallback timeouts of waits that have no history under this profile yet
+    public double slowdown() {
+        double network = latencyMs >= 2000 ? 4 : latencyMs > 0 || downloadKbps >= 0 ? 2 : 1;
+        return Math.max(network, cpuRate);
+    }
+
+    // ====================== Per-thread profile ======================
+
+    public static ThrottleProfile current() {
+        ThrottleProfile profile = current.get();
+        return profile == null ? NONE : profile;
+    }
+
+    public static void setCurrent(ThrottleProfile profile) {
+        if (profile == null || profile.isNone()) {
+            current.remove();
+        } else {
+            current.set(profile);
+        }
+    }
+
+    // History key for the active profile: "search.box" or "search.box@slow-3g"
+    public static String qualify(String key) {
+        ThrottleProfile profile = current();
+        return profile.isNone() ? key : key + "@" + profile.name;
+    }
+
+    // ====================== CDP ======================
+
+    // Puts the session under this profile; a no-op if it already is
+    public void apply(WebDriver driver) {
+        if (driver == null || !CdpSupport.isSupported(driver) || name.equals(applied.get(driver))) return;
+        if (isNone() && !applied.containsKey(driver)) return;
+        try {
+            CdpSupport.send(driver, "Network.enable");
+            Map<String, Object> network = new HashMap<>();
+            network.put("offline", false);
+            network.put("latency", latencyMs);
+            network.put("downloadThroughput", downloadKbps < 0 ? -1 : downloadKbps * 1000 / 8);
+            network.put("uploadThroughput", uploadKbps < 0 ? -1 : uploadKbps * 1000 / 8);
+            CdpSupport.send(driver, "Network.emulateNetworkConditions", network);
+
+            Map<String, Object> cpu = new HashMap<>();
+            cpu.put("rate", Math.max(1, cpuRate));
+            CdpSupport.send(driver, "Emulation.setCPUThrottlingRate", cpu);
+            applied.put(driver, name);
+            log.info("🐌 Session throttled to {}", this);
+        } catch (WebDriverException e) {
+            log.warn("Could not apply throttle profile {}: {}", name, e.getMessage());
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (isNone()) return "none";
+        StringBuilder text = new StringBuilder(name).append(" (");
+        if (downloadKbps >= 0 || latencyMs > 0) {
+            text.append(latencyMs).append(" ms, ").append(downloadKbps < 0 ? "∞" : downloadKbps + "").append('/')
+                    .append(uploadKbps < 0 ? "∞" : uploadKbps + "").append(" kbps");
+        }
+        if (cpuRate > 1) {
+            if (text.charAt(text.length() - 1) != '(') text.append(", ");
+            text.append(cpuRate == Math.floor(cpuRate) ? String.valueOf((long) cpuRate) : String.valueOf(cpuRate)).append("x CPU");
+        }
+        return text.append(')').toString();
+    }
+}
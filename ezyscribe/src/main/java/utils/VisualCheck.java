@@ -0,0 +1,290 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Visual checks by perceptual hash instead of pixel diffs. The test thread only takes the
+// screenshot; decoding and hashing run on a small background pool while the test carries on,
+// and the results are collected with assertMatches() at the end of the test.
+// Each image gets a 64-bit pHash (low DCT frequencies: overall layout and colour masses, so a
+// lost stylesheet or wrong theme moves it a lot while changed text barely does) and a 64-bit
+// dHash (gradients: shifted or missing blocks). Both are scaled down first, so the window size
+// doesn't matter. A check fails when either is more than visual.phashTolerance (8) /
+// visual.dhashTolerance (10) bits from its baseline.
+// Baselines live in visual.baselineFile, committed with the tests. A screen without one is only
+// a warning (with its screenshot on the report) until it is recorded, or a failure with
+// -Dezyscribe.visual.requireBaselines=true. Only -Dezyscribe.visual.record=true writes the file:
+// it records every screen the run reaches, for review and commit. Off with -Dezyscribe.visual.checks=false.
+public class VisualCheck {
+    private static final Logger log = LogManager.getLogger(VisualCheck.class);
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService hashers = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), r -> {
+                Thread t = new Thread(r, "visual-hash-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    // cos((2x + 1) * u * pi / 64) for the 32-point DCT
+    private static final double[][] COS = new double[8][32];
+    static {
+        for (int u = 0; u < 8; u++) {
+            for (int x = 0; x < 32; x++) COS[u][x] = Math.cos((2 * x + 1) * u * Math.PI / 64);
+        }
+    }
+
+    private static Map<String, String> baselines;
+    private static boolean changed = false;
+
+    public static class Result {
+        public final String name;
+        public final long phash;
+        public final long dhash;
+        // -1 when there was nothing to compare against: a baseline was recorded, or is missing
+        public final int phashDistance;
+        public final int dhashDistance;
+        public final boolean recorded;
+        public final byte[] png;
+
+        Result(String name, long phash, long dhash, int phashDistance, int dhashDistance, boolean recorded, byte[] png) {
+            this.name = name;
+            this.phash = phash;
+            this.dhash = dhash;
+            this.phashDistance = phashDistance;
+            this.dhashDistance = dhashDistance;
+            this.recorded = recorded;
+            this.png = png;
+        }
+
+        public boolean isNewBaseline() {
+            return recorded;
+        }
+
+        public boolean isMissingBaseline() {
+            return !recorded && phashDistance < 0;
+        }
+
+        public boolean matches() {
+            return recorded
+                    || phashDistance >= 0
+                    && phashDistance <= TestConfig.getInt("visual.phashTolerance", 8)
+                    && dhashDistance <= TestConfig.getInt("visual.dhashTolerance", 10);
+        }
+
+        @Override
+        public String toString() {
+            if (recorded) return name + ": new baseline recorded";
+            if (isMissingBaseline()) return name + ": no baseline in " + baselineFile() + ", record it with -Dezyscribe.visual.record=true";
+            return String.format("%s: pHash distance %d, dHash distance %d", name, phashDistance, dhashDistance);
+        }
+    }
+
+    public static boolean isEnabled() {
+        return TestConfig.getBoolean("visual.checks", true);
+    }
+
+    public static CompletableFuture<Result> screen(WebDriver driver, String name) {
+        if (!isEnabled()) return CompletableFuture.completedFuture(null);
+        return hash(name, ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+    }
+
+    public static CompletableFuture<Result> element(WebElement element, String name) {
+        if (!isEnabled()) return CompletableFuture.completedFuture(null);
+        return hash(name, element.getScreenshotAs(OutputType.BYTES));
+    }
+
+    // Waits for the hashes, logs each result on the current Extent test (with the screenshot
+    // when it doesn't match) and fails the test if any check is off its baseline
+    public static void assertMatches(List<CompletableFuture<Result>> checks) {
+        List<String> mismatches = new ArrayList<>();
+        for (CompletableFuture<Result> check : checks) {
+            Result result = check.join();
+            if (result == null) continue;
+            if (result.isMissingBaseline() && !TestConfig.getBoolean("visual.requireBaselines", false)) {
+                log.warn("🖼️ {}", result);
+                if (ExtentReportManager.getTest() != null) {
+                    ExtentReportManager.getTest().warning("🖼️ " + result);
+                    ExtentReportManager.attachWhenReady(ExtentReportManager.getTest(),
+                            ScreenshotStore.storeAsync(result.png, "png"), "No baseline: " + result.name);
+                }
+            } else if (result.matches()) {
+                log.info("🖼️ {}", result);
+                if (ExtentReportManager.getTest() != null) ExtentReportManager.getTest().info("🖼️ " + result);
+            } else {
+                log.warn("🖼️ Visual mismatch {}", result);
+                mismatches.add(result.toString());
+                if (ExtentReportManager.getTest() != null) {
+                    ExtentReportManager.attachWhenReady(ExtentReportManager.getTest(),
+                            ScreenshotStore.storeAsync(result.png, "png"), "Visual mismatch: " + result.name);
+                }
+            }
+        }
+        Assert.assertTrue(mismatches.isEmpty(), "❌ Screens differ from their baselines: " + mismatches);
+    }
+
+    private static CompletableFuture<Result> hash(String name, byte[] png) {
+        return CompletableFuture.supplyAsync(() -> {
+            BufferedImage image;
+            try {
+                image = ImageIO.read(new ByteArrayInputStream(png));
+            } catch (IOException e) {
+                throw new IllegalStateException("Unreadable screenshot for " + name, e);
+            }
+            long phash = phash(image);
+            long dhash = dhash(image);
+            return compare(name, phash, dhash, png);
+        }, hashers);
+    }
+
+    private static synchronized Result compare(String name, long phash, long dhash, byte[] png) {
+        loadBaselines();
+        String baseline = baselines.get(name);
+        if (TestConfig.getBoolean("visual.record", false)) {
+            baselines.put(name, hex(phash) + "\t" + hex(dhash));
+            changed = true;
+            return new Result(name, phash, dhash, -1, -1, true, png);
+        }
+        if (baseline == null) return new Result(name, phash, dhash, -1, -1, false, png);
+        String[] parts = baseline.split("\t");
+        return new Result(name, phash, dhash,
+                Long.bitCount(phash ^ Long.parseUnsignedLong(parts[0], 16)),
+                Long.bitCount(dhash ^ Long.parseUnsignedLong(parts[1], 16)), false, png);
+    }
+
+    // ====================== Hashes ======================
+
+    // 32x32 greyscale, 2D DCT, then one bit per coefficient of the 8x8 lowest frequencies
+    // (DC term excluded): above or below their median
+    static long phash(BufferedImage image) {
+        double[][] pixels = grey(image, 32, 32);
+        double[][] dct = new double[8][8];
+        for (int u = 0; u < 8; u++) {
+            for (int v = 0; v < 8; v++) {
+                double sum = 0;
+                for (int x = 0; x < 32; x++) {
+                    for (int y = 0; y < 32; y++) {
+                        sum += pixels[y][x] * COS[u][x] * COS[v][y];
+                    }
+                }
+                dct[v][u] = sum;
+            }
+        }
+        double[] values = new double[63];
+        for (int i = 1; i < 64; i++) values[i - 1] = dct[i / 8][i % 8];
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double median = sorted[sorted.length / 2];
+        long hash = 0;
+        for (int i = 0; i < 63; i++) {
+            if (values[i] > median) hash |= 1L << i;
+        }
+        return hash;
+    }
+
+    // 9x8 greyscale; one bit per pixel: brighter than its right-hand neighbour
+    static long dhash(BufferedImage image) {
+        double[][] pixels = grey(image, 9, 8);
+        long hash = 0;
+        int bit = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                if (pixels[y][x] > pixels[y][x + 1]) hash |= 1L << bit;
+                bit++;
+            }
+        }
+        return hash;
+    }
+
+    // Area averaging, so every source pixel counts and a 1366px and a 1920px screenshot of
+    // the same screen end up alike; a bilinear jump to 32px would only sample a few pixels
+    private static double[][] grey(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.drawImage(image.getScaledInstance(width, height, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        g.dispose();
+        double[][] grey = new double[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int rgb = scaled.getRGB(x, y);
+                grey[y][x] = 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+            }
+        }
+        return grey;
+    }
+
+    private static String hex(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    // ====================== Baselines ======================
+
+    private static final String HEADER = String.join("\n",
+            "# Visual baselines: name <tab> pHash <tab> dHash (hex), one screen per line.",
+            "# Written only by a run with -Dezyscribe.visual.record=true; review the diff before committing.",
+            "");
+
+    private static Path baselineFile() {
+        return Paths.get(TestConfig.getString("visual.baselineFile", "src/test/resources/visual-baselines.tsv"));
+    }
+
+    // name <tab> pHash <tab> dHash, one screen per line; # starts a comment
+    private static void loadBaselines() {
+        if (baselines != null) return;
+        baselines = new TreeMap<>();
+        Path file = baselineFile();
+        if (!Files.exists(file)) return;
+        try {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                String[] parts = line.split("\t");
+                if (!line.startsWith("#") && parts.length == 3) baselines.put(parts[0], parts[1] + "\t" + parts[2]);
+            }
+        } catch (IOException e) {
+            log.warn("Could not read visual baselines {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Called once at the end of the run; only a recording run has anything to write. Sorted, so
+    // re-recording gives a reviewable diff
+    public static synchronized void saveBaselines() {
+        if (!changed || !TestConfig.getBoolean("visual.record", false)) return;
+        StringBuilder out = new StringBuilder(HEADER);
+        for (Map.Entry<String, String> entry : baselines.entrySet()) {
+            out.append(entry.getKey()).append('\t').append(entry.getValue()).append('\n');
+        }
+        Path file = baselineFile();
+        try {
+            if (file.toAbsolutePath().getParent() != null) Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, out.toString().getBytes(StandardCharsets.UTF_8));
+            log.info("Saved {} visual baselines to {}", baselines.size(), file);
+            changed = false;
+        } catch (IOException e) {
+            log.warn("Could not save visual baselines {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Random;
+
+// Generates speech-like mono 16-bit PCM WAV files for Chrome's fake audio capture.
+// Files are streamed to disk in small chunks so hour-long clips don't need the heap,
+// and they are cached by length so a matrix run only builds each clip once.
+public class WavGenerator {
+    private static final Logger log = LogManager.getLogger(WavGenerator.class);
+
+    private static final int SAMPLE_RATE = 16000;
+    private static final int CHUNK_SAMPLES = 8192;
+
+    public static Path clipOfSeconds(int seconds) throws IOException {
+        Path dir = Paths.get(TestConfig.getString("audio.dir", "target/synthetic-audio"));
+        Path file = dir.resolve("clip_" + seconds + "s_" + SAMPLE_RATE + "hz.wav");
+        if (Files.exists(file)) return file.toAbsolutePath();
+
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, "clip", ".tmp");
+        long start = System.currentTimeMillis();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16)) {
+            write(out, seconds);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        log.info("Generated {}s clip {} ({} bytes) in {} ms", seconds, file, Files.size(file),
+                System.currentTimeMillis() - start);
+        return file.toAbsolutePath();
+    }
+
+    private static void write(OutputStream out, int seconds) throws IOException {
+        long samples = (long) seconds * SAMPLE_RATE;
+        long dataBytes = samples * 2;
+        writeHeader(out, dataBytes);
+
+        // A pitch-wobbling tone gated into "syllables", plus a little noise, so codecs and
+        // silence detection on the recorder side treat it like someone talking
+        Random noise = new Random(42);
+        byte[] chunk = new byte[CHUNK_SAMPLES * 2];
+        double phase = 0;
+        for (long i = 0; i < samples; ) {
+            int n = (int) Math.min(CHUNK_SAMPLES, samples - i);
+            for (int k = 0; k < n; k++, i++) {
+                double t = (double) i / SAMPLE_RATE;
+                double pitch = 140 + 40 * Math.sin(2 * Math.PI * 0.7 * t);
+                phase += 2 * Math.PI * pitch / SAMPLE_RATE;
+                double envelope = 0.5 + 0.5 * Math.sin(2 * Math.PI * 3.0 * t);
+                double value = 0.6 * envelope * Math.sin(phase) + 0.02 * noise.nextGaussian();
+                short sample = (short) (Math.max(-1, Math.min(1, value)) * Short.MAX_VALUE);
+                chunk[2 * k] = (byte) sample;
+                chunk[2 * k + 1] = (byte) (sample >> 8);
+            }
+            out.write(chunk, 0, n * 2);
+        }
+    }
+
+    private static void writeHeader(OutputStream out, long dataBytes) throws IOException {
+        out.write(new byte[] {'R', 'I', 'F', 'F'});
+        writeInt(out, (int) (36 + dataBytes));
+        out.write(new byte[] {'W', 'A', 'V', 'E', 'f', 'm', 't', ' '});
+        writeInt(out, 16);                  // PCM chunk size
+        writeShort(out, 1);                 // PCM format
+        writeShort(out, 1);                 // mono
+        writeInt(out, SAMPLE_RATE);
+        writeInt(out, SAMPLE_RATE * 2);     // byte rate
+        writeShort(out, 2);                 // block align
+        writeShort(out, 16);                // bits per sample
+        out.write(new byte[] {'d', 'a', 't', 'a'});
+        writeInt(out, (int) dataBytes);
+    }
+
+    private static void writeInt(OutputStream out, int value) throws IOException {
+        out.write(value);
+        out.write(value >> 8);
+        out.write(value >> 16);
+        out.write(value >> 24);
+    }
+
+    private static void writeShort(OutputStream out, int value) throws IOException {
+        out.write(value);
+        out.write(value >> 8);
+    }
+}
@@ -0,0 +1,118 @@
+package listeners;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import utils.ExtentReportManager;
+import utils.MaxDuration;
+import utils.PerformanceBudgets;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Enforces @MaxDuration on test methods and collects the page-action checks made while each
+// test ran (see PerformanceBudgets). Each test with budgets gets a budget/actual/headroom table;
+// a test that passed but ran over one is failed with PerformanceBudgets.Exceeded, which
+// TestListener reports as a budget failure rather than a functional one. At the end, a
+// "Performance budgets" entry sums up every budget and lists the tests that failed only on time.
+public class BudgetListener implements ISuiteListener, IInvokedMethodListener {
+    private static final Logger log = LogManager.getLogger(BudgetListener.class);
+
+    private final Set<String> overBudgetOnly = new LinkedHashSet<>();
+
+    @Override
+    public void onStart(ISuite suite) { }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) PerformanceBudgets.begin(testName(testResult));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) return;
+        MaxDuration budget = method.getTestMethod().getConstructorOrMethod().getMethod().getAnnotation(MaxDuration.class);
+        if (budget != null) {
+            long end = testResult.getEndMillis() > 0 ? testResult.getEndMillis() : System.currentTimeMillis();
+            PerformanceBudgets.record(testName(testResult), budget.value(), end - testResult.getStartMillis());
+        }
+        List<PerformanceBudgets.Check> checks = PerformanceBudgets.end();
+        if (checks.isEmpty()) return;
+
+        List<PerformanceBudgets.Check> over = new ArrayList<>();
+        String[][] rows = new String[checks.size() + 1][];
+        rows[0] = new String[] {"Budgeted", "Budget (ms)", "Actual (ms)", "Headroom"};
+        for (int i = 0; i < checks.size(); i++) {
+            PerformanceBudgets.Check check = checks.get(i);
+            if (check.isOver()) over.add(check);
+            rows[i + 1] = new String[] {check.name, String.valueOf(check.budgetMs), String.valueOf(check.actualMs),
+                    check.headroom() + (check.isOver() ? " ⏱️" : "")};
+        }
+        ExtentTest test = ExtentReportManager.getTest();
+        if (test != null) test.info(MarkupHelper.createTable(rows));
+        if (over.isEmpty()) return;
+
+        // A functional failure stays the reason; the overrun is only in the tables then
+        if (testResult.getStatus() == ITestResult.SUCCESS && PerformanceBudgets.isEnforced()) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new PerformanceBudgets.Exceeded(over));
+            synchronized (overBudgetOnly) {
+                overBudgetOnly.add(testName(testResult));
+            }
+        } else if (test != null) {
+            test.warning("⏱️ Over budget: " + over);
+        }
+    }
+
+    // One row per budgeted test or action: calls, worst run and the headroom that leaves
+    @Override
+    public void onFinish(ISuite suite) {
+        List<PerformanceBudgets.Check> checks = PerformanceBudgets.checks();
+        if (checks.isEmpty()) return;
+        Map<String, List<PerformanceBudgets.Check>> byName = new TreeMap<>();
+        for (PerformanceBudgets.Check check : checks) {
+            byName.computeIfAbsent(check.name, k -> new ArrayList<PerformanceBudgets.Check>()).add(check);
+        }
+        String[][] rows = new String[byName.size() + 1][];
+        rows[0] = new String[] {"Budgeted", "Budget (ms)", "Calls", "Worst (ms)", "Headroom", "Over"};
+        int r = 1;
+        int overruns = 0;
+        for (Map.Entry<String, List<PerformanceBudgets.Check>> entry : byName.entrySet()) {
+            PerformanceBudgets.Check worst = null;
+            int over = 0;
+            for (PerformanceBudgets.Check check : entry.getValue()) {
+                if (worst == null || check.headroomMs() < worst.headroomMs()) worst = check;
+                if (check.isOver()) over++;
+            }
+            overruns += over;
+            rows[r++] = new String[] {entry.getKey(), String.valueOf(worst.budgetMs), String.valueOf(entry.getValue().size()),
+                    String.valueOf(worst.actualMs), worst.headroom(), over == 0 ? "0" : over + " ⏱️"};
+        }
+        ExtentTest summary = ExtentReportManager.getExtent().createTest("Performance budgets");
+        synchronized (overBudgetOnly) {
+            if (!overBudgetOnly.isEmpty()) {
+                summary.fail("⏱️ " + overBudgetOnly.size() + " test(s) passed functionally but failed on time: " + overBudgetOnly);
+            } else if (overruns > 0) {
+                summary.warning("⏱️ " + overruns + " overrun(s), none of them in a test that otherwise passed");
+            }
+            log.info("⏱️ {} budgets checked {} times; {} overruns, {} tests failed on time only",
+                    byName.size(), checks.size(), overruns, overBudgetOnly.size());
+        }
+        summary.info(MarkupHelper.createTable(rows));
+        ExtentReportManager.flushReports(); // Suite listeners may finish after TestListener's flush
+    }
+
+    private static String testName(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "#" + result.getMethod().getMethodName();
+    }
+}
@@ -0,0 +1,30 @@
+package listeners;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Field;
+
+// Finds the WebDriver a test instance is using. Test classes either extend DriverFactory
+// or keep their own private "driver" field, so we walk the class hierarchy for one.
+class DriverLookup {
+
+    static WebDriver from(ITestResult result) {
+        Object instance = result.getInstance();
+        if (instance == null) return null;
+
+        for (Class<?> type = instance.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!WebDriver.class.isAssignableFrom(field.getType())) continue;
+                try {
+                    field.setAccessible(true);
+                    Object value = field.get(instance);
+                    if (value != null) return (WebDriver) value;
+                } catch (IllegalAccessException | RuntimeException ignored) {
+                    // fall through to the next candidate
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,78 @@
+package listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import utils.ProcessReaper;
+import utils.TestConfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+// Wall-clock limit per test (-Dezyscribe.watchdog.testTimeoutSec, default 600). When a test runs
+// over, its browser's process tree is killed: the WebDriver call it hangs in fails, the test is
+// reported with the watchdog as the cause and teardown still runs. TestNG's own timeOut would
+// only abandon the thread and leave the browser behind. At suite start it also reaps whatever
+// earlier, killed runs left on the agent (see ProcessReaper).
+public class HangWatchdog implements ISuiteListener, IInvokedMethodListener {
+    private static final Logger log = LogManager.getLogger(HangWatchdog.class);
+
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "hang-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<ITestResult, ScheduledFuture<?>> running = new ConcurrentHashMap<>();
+    private final Map<ITestResult, Long> fired = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        ProcessReaper.reapOrphans();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) { }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        long limit = TestConfig.getLong("watchdog.testTimeoutSec", 600);
+        if (!method.isTestMethod() || limit <= 0) return;
+        Thread testThread = Thread.currentThread();
+        running.put(testResult, timer.schedule(() -> expire(testResult, testThread, limit), limit, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        ScheduledFuture<?> watch = running.remove(testResult);
+        if (watch != null) watch.cancel(false);
+        Long limit = fired.remove(testResult);
+        if (limit != null && testResult.getStatus() == ITestResult.FAILURE) {
+            testResult.setThrowable(new IllegalStateException(
+                    "⏱️ Hung for over " + limit + " s; the watchdog killed its browser", testResult.getThrowable()));
+        }
+    }
+
+    private void expire(ITestResult result, Thread testThread, long limit) {
+        fired.put(result, limit);
+        String name = result.getTestClass().getRealClass().getSimpleName() + "#" + result.getMethod().getMethodName();
+        WebDriver driver = DriverLookup.from(result);
+        int killed = ProcessReaper.killSession(driver);
+        if (killed > 0) {
+            log.error("⏱️ {} ran over {} s; killed {} browser processes", name, limit, killed);
+        } else {
+            // No tagged browser to kill (reaper off, or the test is stuck outside WebDriver)
+            log.error("⏱️ {} ran over {} s; interrupting it", name, limit);
+            testThread.interrupt();
+        }
+    }
+}
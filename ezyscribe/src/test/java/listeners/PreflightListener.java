@@ -0,0 +1,113 @@
+package listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+import utils.DriverServiceManager;
+import utils.ExtentReportManager;
+import utils.TestConfig;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.Duration;
+
+// Checks that the app is up before any browser is started. If it isn't, every configuration
+// and test method is skipped straight away with the reason, instead of each one sitting
+// through its WebDriverWait timeouts.
+public class PreflightListener implements ISuiteListener, IInvokedMethodListener {
+    private static final Logger log = LogManager.getLogger(PreflightListener.class);
+
+    private static volatile String failureReason;
+
+    @Override
+    public void onStart(ISuite suite) {
+        failureReason = null;
+        if (!TestConfig.getBoolean("preflight", true)) {
+            log.info("Preflight disabled.");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        failureReason = probeHttp(TestConfig.loginUrl());
+        if (failureReason == null) failureReason = probeHttp(TestConfig.tasksUrl());
+        if (failureReason == null && TestConfig.getBoolean("preflight.browser", false)) {
+            failureReason = probeBrowser();
+        }
+
+        if (failureReason == null) {
+            log.info("Preflight passed in {} ms.", System.currentTimeMillis() - start);
+        } else {
+            log.error("Preflight failed, skipping suite '{}': {}", suite.getName(), failureReason);
+            ExtentReportManager.getExtent().setSystemInfo("Preflight", "FAILED - " + failureReason);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) { }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (failureReason != null) {
+            throw new SkipException("App preflight failed: " + failureReason);
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) { }
+
+    private static String probeHttp(String url) {
+        int timeout = TestConfig.getInt("preflight.timeoutMs", 5000);
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setInstanceFollowRedirects(true);
+            int status = connection.getResponseCode();
+            if (status >= 400) {
+                return url + " returned HTTP " + status;
+            }
+            try (InputStream body = connection.getInputStream()) {
+                if (body.read() == -1) {
+                    return url + " returned an empty page";
+                }
+            }
+            log.info("Preflight OK: {} -> HTTP {}", url, status);
+            return null;
+        } catch (Exception e) {
+            return url + " unreachable (" + e.getClass().getSimpleName() + ": " + e.getMessage() + ")";
+        } finally {
+            if (connection != null) connection.disconnect();
+        }
+    }
+
+    // Optional: the HTTP check can't tell whether the SPA actually renders the login form
+    private static String probeBrowser() {
+        WebDriver driver = null;
+        try {
+            ChromeOptions options = new ChromeOptions();
+            options.addArguments("--headless=new", "--disable-gpu", "--no-sandbox", "--disable-dev-shm-usage");
+            driver = DriverServiceManager.newChromeDriver(options);
+            driver.get(TestConfig.loginUrl());
+            new WebDriverWait(driver, Duration.ofSeconds(TestConfig.getInt("preflight.browserTimeoutSec", 15)))
+                    .until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//input[@name='email']")));
+            log.info("Preflight OK: login form rendered in headless browser");
+            return null;
+        } catch (Exception e) {
+            return "login form did not render (" + e.getClass().getSimpleName() + ")";
+        } finally {
+            if (driver != null) driver.quit();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package listeners;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// The browser state a test needs before it starts, read by SessionAwareScheduler.
+// On a class it applies to every test in it; on a method it overrides the class.
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Prerequisites {
+
+    // "doctor", "scribe", ...; empty when no account is involved
+    String role() default "";
+
+    boolean loggedIn() default true;
+
+    // Path the test starts from, e.g. "/tasks"; empty when it doesn't matter
+    String page() default "";
+}
@@ -0,0 +1,138 @@
+package listeners;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.TestConfig;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Orders a <test> by the session state its tests need (@Prerequisites), so a browser goes
+// logged-out -> one role -> the next instead of ping-ponging. That only matters for a <test>
+// with preserve-order="false" (e.g. ThrottleMatrix's suites), where TestNG runs plain priorities
+// across classes (every class's priority 1, then every priority 2, ...), keeping all the
+// classes' browsers open and alternating between them; there each class runs as one block,
+// logged-out classes first, then grouped by role and start page. Within a class the declared
+// priorities still decide, and tests of equal priority are grouped by page.
+// With preserve-order on (TestNG's default, and testng.xml's) classes already run as blocks in
+// suite-file order, so the order is left alone and only its state changes are logged; list the
+// classes logged-out first, then by role, as testng.xml and SessionSchedulePlanner do.
+// TestNG applies priorities after interceptors, so those are rewritten to the final order.
+// Off with -Dezyscribe.scheduler=false.
+public class SessionAwareScheduler implements IMethodInterceptor {
+    private static final Logger log = LogManager.getLogger(SessionAwareScheduler.class);
+
+    public static class State {
+        public final String role;
+        public final boolean loggedIn;
+        public final String page;
+
+        State(String role, boolean loggedIn, String page) {
+            this.role = role;
+            this.loggedIn = loggedIn;
+            this.page = page;
+        }
+
+        public String sortKey() {
+            return (loggedIn ? "1" : "0") + "|" + role + "|" + page;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof State && sortKey().equals(((State) other).sortKey());
+        }
+
+        @Override
+        public int hashCode() {
+            return sortKey().hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return loggedIn ? (role.isEmpty() ? "logged in" : role) + (page.isEmpty() ? "" : " @ " + page)
+                    : "logged out" + (page.isEmpty() ? "" : " @ " + page);
+        }
+    }
+
+    // Method annotation first, then the class (and its superclasses); no annotation means
+    // "no particular state", which sorts with the logged-out tests
+    public static State stateOf(Class<?> testClass, Method method) {
+        Prerequisites declared = method == null ? null : method.getAnnotation(Prerequisites.class);
+        for (Class<?> type = testClass; declared == null && type != null; type = type.getSuperclass()) {
+            declared = type.getAnnotation(Prerequisites.class);
+        }
+        if (declared == null) return new State("", false, "");
+        return new State(declared.role(), declared.loggedIn(), declared.page());
+    }
+
+    private static boolean isEnabled() {
+        return TestConfig.getBoolean("scheduler", true);
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled() || methods.size() < 2) return methods;
+        if (!Boolean.FALSE.equals(context.getCurrentXmlTest().getPreserveOrder())) {
+            log.info("🗂️ {}: {} tests in suite-file order, {} state changes", context.getName(), methods.size(),
+                    stateChanges(methods));
+            return methods;
+        }
+
+        // What TestNG would do on its own: priority first, declaration order after
+        List<IMethodInstance> byPriority = new ArrayList<>(methods);
+        byPriority.sort(Comparator.comparingInt(m -> m.getMethod().getPriority()));
+
+        Map<Object, List<IMethodInstance>> byInstance = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            Object key = instance.getInstance() != null ? instance.getInstance() : instance.getMethod().getRealClass();
+            if (!byInstance.containsKey(key)) byInstance.put(key, new ArrayList<IMethodInstance>());
+            byInstance.get(key).add(instance);
+        }
+
+        List<List<IMethodInstance>> blocks = new ArrayList<>(byInstance.values());
+        for (List<IMethodInstance> block : blocks) {
+            block.sort(Comparator.<IMethodInstance>comparingInt(m -> m.getMethod().getPriority())
+                    .thenComparing(m -> state(m).page));
+        }
+        blocks.sort(Comparator.comparing(block -> state(block.get(0)).sortKey()));
+
+        List<IMethodInstance> ordered = new ArrayList<>();
+        for (List<IMethodInstance> block : blocks) ordered.addAll(block);
+        int priority = 0;
+        for (IMethodInstance instance : ordered) {
+            instance.getMethod().setPriority(priority++);
+        }
+
+        log.info("🗂️ {}: {} tests in {} session blocks, {} state changes (priority order: {})",
+                context.getName(), ordered.size(), blocks.size(), stateChanges(ordered), stateChanges(byPriority));
+        return ordered;
+    }
+
+    // Switching to another class's browser, or changing role/login/page within one
+    static int stateChanges(List<IMethodInstance> order) {
+        int changes = 0;
+        Object previousInstance = null;
+        State previousState = null;
+        for (IMethodInstance instance : order) {
+            Object owner = instance.getInstance() != null ? instance.getInstance() : instance.getMethod().getRealClass();
+            State state = state(instance);
+            if (previousState != null && (owner != previousInstance || !state.equals(previousState))) changes++;
+            previousInstance = owner;
+            previousState = state;
+        }
+        return changes;
+    }
+
+    private static State state(IMethodInstance instance) {
+        ITestNGMethod method = instance.getMethod();
+        return stateOf(method.getRealClass(), method.getConstructorOrMethod().getMethod());
+    }
+}
@@ -1,10 +1,33 @@
 package listeners;
 
+import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import org.openqa.selenium.WebDriver;
 import org.testng.*;
+import utils.AdaptiveWait;
+import utils.DriverServiceManager;
+import utils.DurationTrends;
 import utils.ExtentReportManager;
+import utils.MemoryMonitor;
+import utils.NetworkCapture;
+import utils.PerformanceBudgets;
+import utils.ScreencastRecorder;
+import utils.ScreenshotStore;
+import utils.TestConfig;
+import utils.ThrottleProfile;
+import utils.VisualCheck;
 
-public class TestListener implements ITestListener, ISuiteListener {
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class TestListener implements ITestListener, ISuiteListener, IInvokedMethodListener {
+
+    // Tests that ran noticeably slower than their recent history, for the end-of-run summary
+    private final List<DurationTrends.Regression> slowdowns = new ArrayList<>();
 
     // Called once before the entire test suite starts
     @Override
@@ -15,27 +38,155 @@ public class TestListener implements ITestListener, ISuiteListener {
     // Called once after the entire test suite finishes
     @Override
     public void onFinish(ISuite suite) {
+        reportSlowdowns();
+        reportMemory();
+        DurationTrends.save(); // Append this run's durations to the trend history
+        VisualCheck.saveBaselines(); // Write baselines recorded during this run
         ExtentReportManager.flushReports(); // Flush report after all tests
+        AdaptiveWait.saveHistory(); // Persist learned wait timings for the next run
+        DriverServiceManager.shutdown(); // Stop the shared chromedriver
     }
 
     @Override
     public void onTestStart(ITestResult result) {
         ExtentReportManager.createTest(result.getMethod().getMethodName());
+        DurationTrends.startTest(trendKey(result));
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
         ExtentReportManager.getTest().log(Status.PASS, "Test Passed");
+
+        // Only passing runs count; a failure's duration says little about speed
+        DurationTrends.Regression regression =
+                DurationTrends.recordTest(trendKey(result), result.getEndMillis() - result.getStartMillis());
+        if (regression != null) {
+            ExtentReportManager.getTest().warning("🐢 Slower than usual: " + regression);
+            synchronized (slowdowns) {
+                slowdowns.add(regression);
+            }
+        }
+    }
+
+    // Each data-provider row is its own trend (a 5 s clip and a 60 s clip aren't the same test)
+    private static String trendKey(ITestResult result) {
+        String key = result.getTestClass().getRealClass().getSimpleName() + "#" + result.getMethod().getMethodName();
+        if (result.getParameters().length > 0) {
+            key += Arrays.toString(result.getParameters()).replaceAll("\\s+", " ");
+        }
+        return ThrottleProfile.qualify(key);
+    }
+
+    private void reportSlowdowns() {
+        if (!DurationTrends.isEnabled()) return;
+        List<DurationTrends.Regression> all;
+        synchronized (slowdowns) {
+            all = new ArrayList<>(slowdowns);
+        }
+        all.addAll(DurationTrends.stepRegressions());
+        if (all.isEmpty()) return;
+
+        String[][] rows = new String[all.size() + 1][];
+        rows[0] = new String[] {"Test / step", "This run (ms)", "Median (ms)", "Ratio", "Runs"};
+        for (int i = 0; i < all.size(); i++) {
+            DurationTrends.Regression r = all.get(i);
+            rows[i + 1] = new String[] {r.key, String.valueOf(r.millis), String.valueOf(r.medianMillis),
+                    String.format("x%.2f", r.ratio), String.valueOf(r.baselineRuns)};
+        }
+        ExtentTest summary = ExtentReportManager.getExtent().createTest("Duration trends");
+        summary.warning("🐢 " + all.size() + " slowdown(s) against the rolling baseline");
+        summary.info(MarkupHelper.createTable(rows));
+    }
+
+    private void reportMemory() {
+        List<MemoryMonitor.Session> sessions = new ArrayList<>();
+        for (MemoryMonitor.Session session : MemoryMonitor.sessions()) {
+            if (session.first != null) sessions.add(session);
+        }
+        if (sessions.isEmpty()) return;
+        String[][] rows = new String[sessions.size() + 1][];
+        rows[0] = new String[] {"Session", "Tests", "JS heap first → last (MB)", "Peak heap (MB)", "Peak RSS (MB)", "DOM nodes last", "Ended by"};
+        for (int i = 0; i < sessions.size(); i++) {
+            MemoryMonitor.Session s = sessions.get(i);
+            rows[i + 1] = new String[] {s.name, String.valueOf(s.tests),
+                    mb(s.first.heapUsedBytes) + " → " + mb(s.last.heapUsedBytes), mb(s.peakHeapBytes),
+                    s.peakRssBytes < 0 ? "n/a" : mb(s.peakRssBytes), String.valueOf(s.last.domNodes), s.endedBy};
+        }
+        ExtentTest summary = ExtentReportManager.getExtent().createTest("Browser memory");
+        summary.info(MarkupHelper.createTable(rows));
+    }
+
+    private static String mb(long bytes) {
+        return String.valueOf(bytes / (1024 * 1024));
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        ExtentReportManager.getTest().log(Status.FAIL, "Test Failed: " + result.getThrowable());
+        ExtentTest test = ExtentReportManager.getTest();
+        if (result.getThrowable() instanceof PerformanceBudgets.Exceeded) {
+            // Passed functionally; the budget table is already on the test and the page is fine
+            test.log(Status.FAIL, "Over budget, functionally passed: " + result.getThrowable().getMessage());
+            return;
+        }
+        test.log(Status.FAIL, "Test Failed: " + result.getThrowable());
+
+        // Grab evidence while the browser still shows the failure; writing happens off-thread
+        WebDriver driver = DriverLookup.from(result);
+        if (driver != null) {
+            ExtentReportManager.attachWhenReady(test, ScreenshotStore.captureScreenshot(driver), "Screenshot on failure");
+            if (TestConfig.captureDomOnFailure()) {
+                ExtentReportManager.attachWhenReady(test, ScreenshotStore.captureDom(driver), "DOM on failure");
+            }
+
+            ScreencastRecorder recorder = ScreencastRecorder.existing(driver);
+            if (recorder != null) {
+                String trace = recorder.persist(result.getMethod().getMethodName());
+                ExtentReportManager.attachWhenReady(test, CompletableFuture.completedFuture(trace), "Screencast trace");
+            }
+
+            NetworkCapture capture = NetworkCapture.existing(driver);
+            if (capture != null) {
+                String har = capture.writeHar(result.getMethod().getMethodName());
+                ExtentReportManager.attachWhenReady(test, CompletableFuture.completedFuture(har), "Network HAR");
+            }
+        }
+    }
+
+    // Runs after @BeforeMethod, so the driver for this test already exists
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) return;
+        WebDriver driver = DriverLookup.from(testResult);
+        if (ScreencastRecorder.isEnabled()) {
+            ScreencastRecorder recorder = ScreencastRecorder.forDriver(driver);
+            if (recorder != null) {
+                recorder.reset();
+            }
+        }
+        if (NetworkCapture.isEnabled()) {
+            NetworkCapture capture = NetworkCapture.forDriver(driver);
+            if (capture != null) {
+                capture.reset();
+            }
+        }
+    }
+
+    // Memory after each test, so a session's growth shows test by test in the report
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || !MemoryMonitor.isEnabled()) return;
+        WebDriver driver = DriverLookup.from(testResult);
+        MemoryMonitor.Sample sample = MemoryMonitor.sample(driver, testResult.getTestClass().getRealClass().getSimpleName());
+        if (sample != null && ExtentReportManager.getTest() != null) {
+            ExtentReportManager.getTest().info("🧠 " + sample);
+        }
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        ExtentReportManager.getTest().log(Status.SKIP, "Test Skipped");
+        Throwable reason = result.getThrowable();
+        ExtentReportManager.getTest().log(Status.SKIP,
+                reason == null ? "Test Skipped" : "Test Skipped: " + reason.getMessage());
     }
 
     // Not needed anymore — we moved flush to ISuite's onFinish
@@ -0,0 +1,107 @@
+package listeners;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import utils.ExtentReportManager;
+import utils.TestConfig;
+import utils.ThrottleProfile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Runs a <test> under a throttle profile: its "throttle" parameter (one <test> per profile,
+// see tools.ThrottleMatrix) or -Dezyscribe.throttle.profile for the whole suite. Every method
+// of the <test> runs with the profile as the thread's current one, and the session it uses is
+// throttled before each method, so login and resets are as slow as the tests themselves.
+// At the end, test durations are tabulated per profile in the report. Must be listed before
+// TestListener, which reads the current profile when a test starts.
+public class ThrottleListener implements ISuiteListener, IInvokedMethodListener, ITestListener {
+    private static final Logger log = LogManager.getLogger(ThrottleListener.class);
+
+    // test -> profile -> durations in ms
+    private final Map<String, Map<String, List<Long>>> timings = new TreeMap<>();
+    private final List<String> profiles = new ArrayList<>();
+
+    static ThrottleProfile profileOf(ITestResult result) {
+        String name = result.getTestContext().getCurrentXmlTest().getParameter("throttle");
+        return ThrottleProfile.named(name != null ? name : TestConfig.getString("throttle.profile", null));
+    }
+
+    @Override
+    public void onStart(ISuite suite) { }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ThrottleProfile.setCurrent(profileOf(result));
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        ThrottleProfile profile = profileOf(testResult);
+        ThrottleProfile.setCurrent(profile);
+        profile.apply(DriverLookup.from(testResult));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || testResult.getStatus() != ITestResult.SUCCESS) return;
+        String profile = profileOf(testResult).name;
+        String test = testResult.getTestClass().getRealClass().getSimpleName() + "#" + testResult.getMethod().getMethodName()
+                + (testResult.getParameters().length == 0 ? "" : Arrays.toString(testResult.getParameters()));
+        synchronized (timings) {
+            if (!profiles.contains(profile)) profiles.add(profile);
+            timings.computeIfAbsent(test, k -> new TreeMap<String, List<Long>>())
+                    .computeIfAbsent(profile, k -> new ArrayList<Long>())
+                    .add(testResult.getEndMillis() - testResult.getStartMillis());
+        }
+    }
+
+    // One row per test, one column per profile; with a "none" column, the slowdown against it
+    @Override
+    public void onFinish(ISuite suite) {
+        synchronized (timings) {
+            if (profiles.isEmpty() || profiles.size() == 1 && "none".equals(profiles.get(0))) return;
+            boolean hasBaseline = profiles.contains("none");
+            String[][] rows = new String[timings.size() + 1][];
+            rows[0] = new String[profiles.size() + 1];
+            rows[0][0] = "Test";
+            for (int i = 0; i < profiles.size(); i++) rows[0][i + 1] = profiles.get(i) + " (ms)";
+            int r = 1;
+            for (Map.Entry<String, Map<String, List<Long>>> entry : timings.entrySet()) {
+                String[] row = new String[profiles.size() + 1];
+                row[0] = entry.getKey();
+                Long baseline = hasBaseline ? mean(entry.getValue().get("none")) : null;
+                for (int i = 0; i < profiles.size(); i++) {
+                    Long millis = mean(entry.getValue().get(profiles.get(i)));
+                    row[i + 1] = millis == null ? "-" : millis
+                            + (baseline != null && baseline > 0 && !"none".equals(profiles.get(i))
+                            ? String.format(" (x%.1f)", millis / (double) baseline) : "");
+                }
+                rows[r++] = row;
+            }
+            ExtentTest summary = ExtentReportManager.getExtent().createTest("Throttling matrix");
+            summary.info("🐌 Test durations per throttle profile: " + profiles);
+            summary.info(MarkupHelper.createTable(rows));
+            log.info("🐌 Throttling matrix: {} tests under {}", timings.size(), profiles);
+        }
+        ExtentReportManager.flushReports(); // Suite listeners may finish after TestListener's flush
+    }
+
+    private static Long mean(List<Long> values) {
+        if (values == null || values.isEmpty()) return null;
+        long sum = 0;
+        for (long value : values) sum += value;
+        return sum / values.size();
+    }
+}
@@ -0,0 +1,50 @@
+package tests;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import utils.LatencyRecorder;
+import utils.LoadTestRunner;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Not part of testng.xml; run on demand, e.g.
+// mvn test -Dtest=DashboardLoadTest -Dezyscribe.load.users=10 -Dezyscribe.load.durationSec=300
+public class DashboardLoadTest {
+    private static final Logger log = LogManager.getLogger(DashboardLoadTest.class);
+
+    @Test(description = "Concurrent virtual users searching, filtering and sorting the tasks dashboard")
+    public void dashboardUnderConcurrentUsers() throws InterruptedException, IOException {
+        LoadTestRunner runner = LoadTestRunner.fromConfig();
+        if (runner.getUsers() <= 0) {
+            throw new SkipException("Set -Dezyscribe.load.users to run the load test.");
+        }
+
+        log.info("🚦 Starting load run with {} virtual users against {}", runner.getUsers(), TestConfig.baseUrl());
+        long elapsed = runner.run();
+
+        LatencyRecorder latencies = runner.getLatencies();
+        String report = latencies.report(elapsed);
+        log.info("📊 Load results ({} users, {} s):\n{}", runner.getUsers(), elapsed / 1000, report);
+
+        Path file = Paths.get(TestConfig.outputDir(), "load-report.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report.getBytes(StandardCharsets.UTF_8));
+
+        double maxErrorRate = Double.parseDouble(TestConfig.getString("load.maxErrorRate", "0.05"));
+        for (String action : latencies.actions()) {
+            LatencyRecorder.Summary summary = latencies.summary(action);
+            int attempts = summary.count() + summary.errors;
+            Assert.assertTrue(attempts == 0 || summary.errors <= attempts * maxErrorRate,
+                    "❌ Too many failures for '" + action + "': " + summary.errors + "/" + attempts);
+        }
+    }
+}
@@ -3,28 +3,51 @@ package tests;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.Assert;
 import org.testng.annotations.*;
 
+import listeners.Prerequisites;
 import pages.DoctorDashboardPage;
-
+import utils.DriverServiceManager;
+import utils.MaxDuration;
+import utils.MemoryMonitor;
+import utils.NetworkCapture;
+import utils.PerformanceBudgets;
+import utils.ProfileTemplate;
+import utils.ScreenshotStore;
+import utils.TaskFixtures;
+import utils.TaskUrlState;
+import utils.VisualCheck;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+@Prerequisites(role = "doctor", page = "/tasks")
 public class DoctorDashboardTest {
 
     private WebDriver driver;
     private DoctorDashboardPage doctorPage;
     private boolean isLoggedIn = false;
+    private TaskFixtures fixtures;
     private static final Logger log = LogManager.getLogger(DoctorDashboardTest.class);
 
     @BeforeClass
     public void setup() {
+        // Known tasks to search for (-Dezyscribe.fixtures.mode=http|file); none by default
+        fixtures = TaskFixtures.seed("testprovider@gmail.com", "12345678", TaskFixtures.standardSet());
+
+        driver = newDriver();
+        doctorPage = PerformanceBudgets.newPage(DoctorDashboardPage.class, driver);
+    }
+
+    private WebDriver newDriver() {
         ChromeOptions options = new ChromeOptions();
-        options.addArguments("--incognito");
+        ProfileTemplate.freshSession(options);
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-extensions");
         options.addArguments("disable-infobars");
@@ -36,23 +59,33 @@ public class DoctorDashboardTest {
         prefs.put("profile.default_content_setting_values.media_stream_mic", 1); // Allow mic
         options.setExperimentalOption("prefs", prefs);
 
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        doctorPage = new DoctorDashboardPage(driver);
+        WebDriver session = DriverServiceManager.newChromeDriver(options);
+        session.manage().window().maximize();
+        return session;
     }
 
     @BeforeMethod
     public void ensureLoggedInAndRefresh() {
+        // A long-lived session that has grown too big is swapped for a fresh, still logged-in one
+        if (isLoggedIn && MemoryMonitor.shouldRecycle(driver)) {
+            WebDriver fresh = newDriver();
+            isLoggedIn = MemoryMonitor.recycle(driver, fresh);
+            driver = fresh;
+            doctorPage = PerformanceBudgets.newPage(DoctorDashboardPage.class, driver);
+        }
         if (!isLoggedIn) {
             doctorPage.loginAsDoctor("testprovider@gmail.com", "12345678");
             isLoggedIn = true;
         } else {
-            doctorPage.refreshDashboard();
+            doctorPage.resetToTasks(); // Direct URL reset; cheaper than refresh + Reset Filters
         }
     }
 
     @AfterClass
     public void teardown() {
+        if (fixtures != null) {
+            fixtures.close();
+        }
         if (driver != null) {
             driver.quit();
         }
@@ -62,37 +95,56 @@ public class DoctorDashboardTest {
     public void themeSwitch() {
         doctorPage.waitForDashboardToLoad();
 
+        // The html class only says a theme was picked; the hashes check it was actually painted
+        List<CompletableFuture<VisualCheck.Result>> visuals = new ArrayList<>();
+
         doctorPage.selectDarkMode();
         Assert.assertTrue(doctorPage.isDarkModeActive(), "❌ Dark mode not activated!");
+        visuals.add(VisualCheck.screen(driver, "doctor-dashboard-dark"));
+        visuals.add(VisualCheck.element(doctorPage.themeToggle(), "doctor-theme-toggle-dark"));
 
         doctorPage.selectLightMode();
         Assert.assertTrue(doctorPage.isLightModeActive(), "❌ Light mode not activated!");
+        visuals.add(VisualCheck.screen(driver, "doctor-dashboard-light"));
+        visuals.add(VisualCheck.element(doctorPage.themeToggle(), "doctor-theme-toggle-light"));
+
+        VisualCheck.assertMatches(visuals);
     }
 
     @Test(priority = 2)
+    @MaxDuration(20000)
     public void searchByFirstTaskId() throws InterruptedException {
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
-        doctorPage.waitForDashboardToLoad();
-
-        String taskId = doctorPage.searchSecondTaskIdInTableAndSearch();
+        String taskId;
+        if (fixtures.isSeeded()) {
+            taskId = fixtures.first().taskId;
+            doctorPage.openTasks(new TaskUrlState().search(taskId));
+        } else {
+            taskId = doctorPage.searchSecondTaskIdInTableAndSearch();
+        }
 
         new Actions(driver).sendKeys(Keys.ENTER).perform();
         Thread.sleep(1000);
 
         doctorPage.assertFirstRowHasTaskId(taskId);
+        NetworkCapture.assertApiBudget(driver, "search", 300);
         Thread.sleep(1000);
     }
 
     @Test(priority = 3)
     public void testStatusFilter() {
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
         log.info("🔍 Starting Status Filter Test...");
 
-        doctorPage.waitForDashboardToLoad();
-        log.info("✅ Dashboard loaded.");
-
-        log.info("📌 Applying first status filter...");
-        doctorPage.applyFirstStatusFilterAndVerify();
+        String status;
+        if (fixtures.isSeeded()) {
+            status = fixtures.first().status;
+            log.info("📌 Opening dashboard filtered to seeded status '{}'...", status);
+            doctorPage.openTasks(new TaskUrlState().status(status));
+        } else {
+            log.info("📌 Applying first status filter...");
+            status = doctorPage.applyFirstStatusFilterAndVerify();
+        }
+        NetworkCapture.assertApiBudget(driver, "status", 300);
+        doctorPage.verifyAllRowsHaveStatus(status);
 
         log.info("🧹 Attempting to clear status filter...");
         doctorPage.clearStatusFilter();
@@ -102,13 +154,17 @@ public class DoctorDashboardTest {
     @Test(priority = 4)
     public void testPriorityFilter() {
         log.info("🔍 Starting Priority Filter Test...");
-        doctorPage.clickResetFiltersIfPresent();
-
-        doctorPage.waitForDashboardToLoad();
-        log.info("✅ Dashboard loaded.");
 
-        log.info("📌 Applying 'Medium' priority filter...");
-        doctorPage.applyPriorityFilterAndVerify();
+        String priority;
+        if (fixtures.isSeeded()) {
+            priority = fixtures.first().priority;
+            log.info("📌 Opening dashboard filtered to seeded priority '{}'...", priority);
+            doctorPage.openTasks(new TaskUrlState().priority(priority));
+        } else {
+            log.info("📌 Applying 'Medium' priority filter...");
+            priority = doctorPage.applyPriorityFilterAndVerify();
+        }
+        doctorPage.verifyAllRowsHavePriority(priority);
 
         log.info("🧹 Attempting to clear priority filter...");
         doctorPage.clearPriorityFilter();
@@ -123,15 +179,21 @@ public class DoctorDashboardTest {
     }
 
     @Test(priority = 6)
-    public void testTaskIdAscendingSort() throws InterruptedException {
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
-        doctorPage.waitForDashboardToLoad();
+    @MaxDuration(20000)
+    public void testTaskIdAscendingSort() {
+        // Through the sort menu; ScribeDashboardTest covers the same sort by deep link
         doctorPage.applyAscendingSortOnTaskId();
-        Thread.sleep(1000);
         doctorPage.verifyTaskIdsInAscendingOrder();
+        NetworkCapture.assertApiBudget(driver, "sort", 300);
+        // The tasks this class created, wherever they fall among the tenant's own; sorted
+        // ascending they come last, so past table.maxPages the scanned pages' order has to do
+        if (!fixtures.isSeeded() || doctorPage.verifyTaskIdsInOrder(fixtures.taskIdsAscending()).truncated) {
+            doctorPage.verifyAllTaskIdsInAscendingOrder();
+        }
     }
 
     @Test(priority = 7)
+    @MaxDuration(60000)
     public void verifyRecordingWorkflow_ReviewAfterRecordAgain() throws Exception {
         log.info("🎙️ TC15 - Record → Pause → Review → Record Again → Pause → Review → Upload");
 
@@ -158,6 +220,8 @@ public class DoctorDashboardTest {
         doctorPage.openReviewPopup();
         Assert.assertTrue(doctorPage.isReviewPopupOpen(), "❌ Review popup should open after second recording.");
 
+        ScreenshotStore.captureStep(driver, "Review popup before upload");
+
         log.info("[Step 7] Upload the recordings...");
         doctorPage.uploadRecordings();
 
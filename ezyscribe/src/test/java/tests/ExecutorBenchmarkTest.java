@@ -0,0 +1,169 @@
+package tests;
+
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import utils.IoThreads;
+import utils.LatencyRecorder;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares executors for WebDriver-style work: each "session" is a run of blocking HTTP
+// round-trips against a local stub that answers after a fixed delay, the way chromedriver does.
+// Not part of testng.xml; run on demand, e.g.
+// mvn test -Dtest=ExecutorBenchmarkTest -Dezyscribe.bench.sessions=8,32,128 -Dezyscribe.bench.roundTripMs=50
+public class ExecutorBenchmarkTest {
+    private static final Logger log = LogManager.getLogger(ExecutorBenchmarkTest.class);
+
+    private HttpServer server;
+    private ThreadPoolExecutor serverThreads;
+    private String commandUrl;
+    private int commandsPerSession;
+    private List<Integer> sessionCounts;
+
+    @BeforeClass
+    public void startStubDriver() throws IOException {
+        final long roundTripMs = TestConfig.getLong("bench.roundTripMs", 50);
+        commandsPerSession = TestConfig.getInt("bench.commandsPerSession", 20);
+        sessionCounts = new ArrayList<>();
+        for (String value : TestConfig.getString("bench.sessions", "8,32,128").split(",")) {
+            sessionCounts.add(Integer.parseInt(value.trim()));
+        }
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        server.createContext("/session/element", exchange -> {
+            try {
+                Thread.sleep(roundTripMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"value\":{\"element-6066\":\"stub\"}}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        // One thread per session of the largest run, so the stub never becomes the bottleneck being
+        // measured; all started up front, so they are part of every measurement's baseline thread
+        // count and not of the executor's peak
+        int stubThreads = Collections.max(sessionCounts);
+        serverThreads = new ThreadPoolExecutor(stubThreads, stubThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), IoThreads.platformFactory("stub-driver"));
+        serverThreads.prestartAllCoreThreads();
+        server.setExecutor(serverThreads);
+        server.start();
+        commandUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/session/element";
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubDriver() {
+        if (server != null) server.stop(0);
+        if (serverThreads != null) serverThreads.shutdownNow();
+    }
+
+    @Test(description = "Platform vs virtual threads at 8/32/128 concurrent WebDriver-like sessions")
+    public void compareExecutors() throws Exception {
+        int cappedPoolSize = TestConfig.getInt("bench.cappedPoolSize", 8);
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-22s %8s %10s %12s %8s %8s %12s%n",
+                "executor", "sessions", "wall ms", "commands/s", "p50 ms", "p95 ms", "peak threads"));
+
+        for (int sessions : sessionCounts) {
+            report.append(measure("platform-capped(" + cappedPoolSize + ")", sessions,
+                    Executors.newFixedThreadPool(cappedPoolSize, IoThreads.platformFactory("bench-capped"))));
+            report.append(measure("platform-per-session", sessions,
+                    Executors.newFixedThreadPool(sessions, IoThreads.platformFactory("bench-platform"))));
+            if (IoThreads.virtualThreadsAvailable()) {
+                report.append(measure("virtual", sessions, IoThreads.newExecutor("bench-virtual")));
+            }
+        }
+        if (!IoThreads.virtualThreadsAvailable()) {
+            report.append("virtual: not available on java ").append(System.getProperty("java.version")).append('\n');
+        }
+
+        log.info("🧵 Executor benchmark ({} commands/session):\n{}", commandsPerSession, report);
+        Path file = Paths.get(TestConfig.outputDir(), "executor-benchmark.txt");
+        Files.createDirectories(file.getParent());
+        Files.write(file, report.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Peak threads counts only what the executor added: JVM and stub threads are in the baseline.
+    // Virtual threads don't show in ThreadMXBean, their carrier threads do.
+    private String measure(String name, int sessions, ExecutorService executor) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int baseline = threads.getThreadCount();
+        threads.resetPeakThreadCount();
+        final LatencyRecorder latencies = new LatencyRecorder();
+        final AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < sessions; i++) {
+            tasks.add(() -> {
+                for (int c = 0; c < commandsPerSession; c++) {
+                    long commandStart = System.nanoTime();
+                    if (sendCommand()) {
+                        latencies.record("command", (System.nanoTime() - commandStart) / 1_000_000);
+                    } else {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Runnable task : tasks) executor.execute(task);
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES), "❌ " + name + " did not finish.");
+        long wallMs = (System.nanoTime() - start) / 1_000_000;
+
+        Assert.assertEquals(failures.get(), 0, "❌ Stub commands failed under " + name);
+        LatencyRecorder.Summary summary = latencies.summary("command");
+        return String.format("%-22s %8d %10d %12.1f %8d %8d %12d%n", name, sessions, wallMs,
+                summary.count() * 1000.0 / Math.max(1, wallMs), summary.percentile(0.50),
+                summary.percentile(0.95), Math.max(0, threads.getPeakThreadCount() - baseline));
+    }
+
+    private boolean sendCommand() {
+        HttpURLConnection connection = null;
+        try {
+            connection = (HttpURLConnection) new URL(commandUrl).openConnection();
+            connection.setConnectTimeout(10_000);
+            connection.setReadTimeout(30_000);
+            if (connection.getResponseCode() != 200) return false;
+            try (InputStream body = connection.getInputStream()) {
+                while (body.read() != -1) { }
+            }
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            if (connection != null) connection.disconnect();
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package tests;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import tools.PageLocators;
+import utils.DomFixtures;
+import utils.TaskTableScanner;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// Not part of testng-fast.xml until fixtures are committed; run on demand, e.g.
+// mvn test -Dtest=LocatorFixtureTest
+// Every locator in the page objects, checked against DOM snapshots recorded by a real run
+// (-Dezyscribe.dom.record=true), in seconds and without Chrome.
+//   1. mvn test -Dezyscribe.dom.record=true                        records dom-fixtures/<Page>/<wait>.html
+//   2. mvn test -Dtest=LocatorFixtureTest -Dezyscribe.dom.baseline=true
+//                                                                   notes which fixtures each locator matches
+//   3. mvn test -Dtest=LocatorFixtureTest                          fails when a locator stops matching
+// Fixtures and manifest belong under src/test/resources/dom-fixtures; once they are committed
+// the class goes into testng-fast.xml. Without them it fails rather than skipping, since it
+// would otherwise pass whatever the locators say.
+public class LocatorFixtureTest {
+    private static final Logger log = LogManager.getLogger(LocatorFixtureTest.class);
+    private static final String MANIFEST = "locator-coverage.properties";
+
+    private List<PageLocators.Locator> locators;
+    private Map<String, DomFixtures.Fixture> fixtures;
+
+    @BeforeClass
+    public void loadLocatorsAndFixtures() throws IOException {
+        locators = PageLocators.scan(Paths.get(TestConfig.getString("dom.pagesDir", "src/main/java/pages")));
+        fixtures = new LinkedHashMap<>();
+        for (String page : pages()) {
+            for (Path file : DomFixtures.fixturesFor(page)) {
+                fixtures.put(page + "/" + file.getFileName().toString().replace(".html", ""), DomFixtures.load(file));
+            }
+        }
+        log.info("🧩 {} locators, {} DOM fixtures under {}", locators.size(), fixtures.size(), DomFixtures.fixtureDir());
+    }
+
+    @Test
+    public void locatorsCompile() {
+        List<String> broken = new ArrayList<>();
+        for (PageLocators.Locator locator : locators) {
+            try {
+                DomFixtures.compile(locator.kind, locator.expression);
+            } catch (IllegalArgumentException e) {
+                broken.add(locator + " -> " + e.getMessage());
+            }
+        }
+        Assert.assertTrue(broken.isEmpty(), "❌ Locators that don't parse:\n" + String.join("\n", broken));
+    }
+
+    @Test
+    public void locatorsMatchRecordedFixtures() throws IOException {
+        // A lane with nothing to check would pass on every locator change, so that's a failure
+        Assert.assertFalse(fixtures.isEmpty(), "❌ No DOM fixtures under " + DomFixtures.fixtureDir()
+                + "; record the login and tasks pages with -Dezyscribe.dom.record=true and commit them");
+        Path manifestFile = DomFixtures.fixtureDir().resolve(MANIFEST);
+        if (TestConfig.getBoolean("dom.baseline", false)) {
+            writeBaseline(manifestFile);
+            return;
+        }
+        Assert.assertTrue(Files.exists(manifestFile),
+                "❌ No " + MANIFEST + " next to the fixtures; create it with -Dezyscribe.dom.baseline=true and commit it");
+
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            manifest.load(in);
+        }
+        List<String> failures = new ArrayList<>();
+        int uncovered = 0;
+        for (PageLocators.Locator locator : locators) {
+            String expected = manifest.getProperty(locator.id);
+            if (expected == null) {
+                uncovered++;
+                log.debug("Not covered by any fixture: {}", locator);
+                continue;
+            }
+            for (String name : expected.split(",")) {
+                DomFixtures.Fixture fixture = fixtures.get(name.trim());
+                if (fixture == null) {
+                    failures.add(locator + " -> fixture " + name + " is gone");
+                } else if (matches(fixture, locator) == 0) {
+                    failures.add(locator + " -> no match in " + name);
+                }
+            }
+        }
+        log.info("🧩 Checked {} locators against {} fixtures ({} not covered)",
+                locators.size() - uncovered, fixtures.size(), uncovered);
+        Assert.assertTrue(failures.isEmpty(), "❌ Locators no longer match the recorded DOM:\n" + String.join("\n", failures));
+    }
+
+    // Every task row the scanner would read has a task number and the status/priority cells it filters on
+    @Test
+    public void taskTableFixturesParse() {
+        int tables = 0;
+        for (Map.Entry<String, DomFixtures.Fixture> entry : fixtures.entrySet()) {
+            List<List<String>> rows = entry.getValue().tableRows();
+            if (rows.isEmpty() || rows.get(0).size() < 6) continue;
+            tables++;
+            int index = 0;
+            for (List<String> values : rows) {
+                TaskTableScanner.Row row = new TaskTableScanner.Row(++index, 1, values);
+                Assert.assertTrue(row.taskNumber() >= 0, "❌ " + entry.getKey() + ": " + row + " has no task number");
+                Assert.assertFalse(row.cell(4).isEmpty(), "❌ " + entry.getKey() + ": " + row + " has no status");
+                Assert.assertFalse(row.cell(5).isEmpty(), "❌ " + entry.getKey() + ": " + row + " has no priority");
+            }
+        }
+        Assert.assertTrue(tables > 0, "❌ No task table among the DOM fixtures; record the tasks page too");
+    }
+
+    private void writeBaseline(Path manifestFile) throws IOException {
+        Map<String, String> covered = new TreeMap<>();
+        for (PageLocators.Locator locator : locators) {
+            List<String> names = new ArrayList<>();
+            for (Map.Entry<String, DomFixtures.Fixture> entry : fixtures.entrySet()) {
+                if (matches(entry.getValue(), locator) > 0) names.add(entry.getKey());
+            }
+            if (!names.isEmpty()) covered.put(locator.id, String.join(",", names));
+        }
+        // Written by hand rather than Properties.store() so the file stays sorted and diffs cleanly
+        StringBuilder out = new StringBuilder("# Locator id -> fixtures it matched when the baseline was taken\n");
+        for (Map.Entry<String, String> entry : covered.entrySet()) {
+            out.append(entry.getKey().replace(":", "\\:")).append('=').append(entry.getValue()).append('\n');
+        }
+        Files.createDirectories(manifestFile.getParent());
+        Files.write(manifestFile, out.toString().getBytes(StandardCharsets.ISO_8859_1));
+        log.info("📝 Baseline: {} of {} locators matched at least one fixture, written to {}",
+                covered.size(), locators.size(), manifestFile);
+    }
+
+    private static int matches(DomFixtures.Fixture fixture, PageLocators.Locator locator) {
+        try {
+            return fixture.count(locator.kind, locator.expression);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private List<String> pages() {
+        List<String> result = new ArrayList<>();
+        for (PageLocators.Locator locator : locators) {
+            if (!result.contains(locator.page)) result.add(locator.page);
+        }
+        return result;
+    }
+}
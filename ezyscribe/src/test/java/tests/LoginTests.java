@@ -9,12 +9,14 @@ import org.testng.annotations.Test;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import listeners.Prerequisites;
 import pages.LoginPage;
 import utils.DriverFactory;
 import utils.ExcelUtils;
 
 import java.time.Duration;
 
+@Prerequisites(loggedIn = false, page = "/auth/login")
 public class LoginTests extends DriverFactory {
     private static final Logger log = LogManager.getLogger(LoginTests.class);
 
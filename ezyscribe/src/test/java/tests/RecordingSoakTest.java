@@ -0,0 +1,169 @@
+package tests;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.*;
+
+import listeners.Prerequisites;
+import pages.DoctorDashboardPage;
+import utils.DriverServiceManager;
+import utils.ExtentReportManager;
+import utils.LeakTrend;
+import utils.MemoryMonitor;
+import utils.ProfileTemplate;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Not part of testng.xml; run on demand, e.g.
+// mvn test -Dtest=RecordingSoakTest -Dezyscribe.soak.minutes=120
+// mvn test -Dtest=RecordingSoakTest -Dezyscribe.soak.iterations=200
+// Every iteration uploads, so every iteration creates a task for the test doctor.
+@Prerequisites(role = "doctor")
+public class RecordingSoakTest {
+
+    private WebDriver driver;
+    private DoctorDashboardPage doctorPage;
+    private static final Logger log = LogManager.getLogger(RecordingSoakTest.class);
+
+    @BeforeClass
+    public void setup() {
+        ChromeOptions options = new ChromeOptions();
+        ProfileTemplate.freshSession(options);
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--use-fake-ui-for-media-stream");
+        options.addArguments("--use-fake-device-for-media-stream");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        prefs.put("profile.default_content_setting_values.media_stream_mic", 1);
+        options.setExperimentalOption("prefs", prefs);
+
+        driver = DriverServiceManager.newChromeDriver(options);
+        driver.manage().window().maximize();
+        doctorPage = new DoctorDashboardPage(driver);
+        doctorPage.loginAsDoctor("testprovider@gmail.com", "12345678");
+        doctorPage.waitForDashboardToLoad();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void teardown() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    // The page is never reloaded between iterations: a reload throws the JS heap away and
+    // with it whatever the recorder leaked, which is exactly what this is looking for
+    @Test(description = "Recording workflow repeated in one session, failing on JS heap or DOM growth")
+    public void recordingWorkflowSoak() throws InterruptedException, IOException {
+        long minutes = TestConfig.getLong("soak.minutes", 0);
+        int iterations = TestConfig.getInt("soak.iterations", 0);
+        if (minutes <= 0 && iterations <= 0) {
+            throw new SkipException("Set -Dezyscribe.soak.minutes or -Dezyscribe.soak.iterations to run the soak test.");
+        }
+        if (MemoryMonitor.snapshot(driver, true) == null) {
+            throw new SkipException("The soak test reads memory through CDP, which this browser doesn't offer.");
+        }
+
+        // Growth per iteration past which the trend counts as a leak
+        Map<String, Double> limits = new LinkedHashMap<>();
+        limits.put("JS heap (KB)", Double.parseDouble(TestConfig.getString("soak.maxHeapKbPerIteration", "256")));
+        limits.put("DOM nodes", Double.parseDouble(TestConfig.getString("soak.maxNodesPerIteration", "20")));
+        limits.put("Listeners", Double.parseDouble(TestConfig.getString("soak.maxListenersPerIteration", "2")));
+        limits.put("Documents", Double.parseDouble(TestConfig.getString("soak.maxDocumentsPerIteration", "0.5")));
+
+        int warmup = TestConfig.getInt("soak.warmupIterations", 3);
+        LeakTrend trend = new LeakTrend(warmup);
+        StringBuilder csv = new StringBuilder("iteration,elapsedMs,heapUsedBytes,domNodes,listeners,documents\n");
+        long recordMs = TestConfig.getLong("soak.recordMs", 2000);
+        long start = System.currentTimeMillis();
+        long deadline = minutes > 0 ? start + minutes * 60_000 : Long.MAX_VALUE;
+        log.info("🔁 Soaking the recording workflow for {}", minutes > 0 ? minutes + " min" : iterations + " iterations");
+
+        for (int i = 1; (iterations <= 0 || i <= iterations) && System.currentTimeMillis() < deadline; i++) {
+            runWorkflowOnce(i, recordMs);
+
+            MemoryMonitor.Sample sample = MemoryMonitor.snapshot(driver, true);
+            if (sample == null) {
+                log.warn("No memory sample after iteration {}", i);
+                continue;
+            }
+            trend.add("JS heap (KB)", sample.heapUsedBytes / 1024);
+            trend.add("DOM nodes", sample.domNodes);
+            trend.add("Listeners", sample.listeners);
+            trend.add("Documents", sample.documents);
+            csv.append(i).append(',').append(System.currentTimeMillis() - start).append(',').append(sample.heapUsedBytes)
+                    .append(',').append(sample.domNodes).append(',').append(sample.listeners).append(',').append(sample.documents).append('\n');
+            log.info("🔁 Iteration {}: {}", i, sample);
+        }
+
+        Path file = Paths.get(TestConfig.outputDir(), "recording-soak.csv");
+        Files.createDirectories(file.getParent());
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        List<String> leaks = new ArrayList<>();
+        String[][] rows = new String[limits.size() + 1][];
+        rows[0] = new String[] {"Metric", "First", "Last", "Growth", "Per iteration", "Limit"};
+        int r = 1;
+        for (Map.Entry<String, Double> limit : limits.entrySet()) {
+            String metric = limit.getKey();
+            List<Long> settled = trend.settled(metric);
+            double slope = trend.slope(metric);
+            boolean leaking = !Double.isNaN(slope) && slope > limit.getValue();
+            if (leaking) leaks.add(String.format("%s +%.1f/iteration (limit %.1f)", metric, slope, limit.getValue()));
+            rows[r++] = new String[] {metric,
+                    settled.isEmpty() ? "-" : String.valueOf(settled.get(0)),
+                    settled.isEmpty() ? "-" : String.valueOf(settled.get(settled.size() - 1)),
+                    String.valueOf(trend.growth(metric)),
+                    Double.isNaN(slope) ? "-" : String.format("%+.1f%s", slope, leaking ? " ❌" : ""),
+                    String.valueOf(limit.getValue())};
+        }
+        String summary = String.format("%d iterations in %d s, first %d left out as warm-up; samples in %s",
+                trend.iterations(), (System.currentTimeMillis() - start) / 1000, warmup, file);
+        log.info("🧪 Soak finished: {}", summary);
+        ExtentTest test = ExtentReportManager.getTest(); // null when run without TestListener
+        if (test != null) {
+            test.info("🧪 " + summary);
+            test.info(MarkupHelper.createTable(rows));
+        }
+
+        Assert.assertTrue(trend.iterations() - warmup >= 3,
+                "❌ Too few iterations past the warm-up to judge a trend: " + trend.iterations());
+        Assert.assertTrue(leaks.isEmpty(), "❌ Recorder keeps growing over the soak: " + leaks);
+    }
+
+    private void runWorkflowOnce(int iteration, long recordMs) throws InterruptedException {
+        doctorPage.startRecording();
+        Thread.sleep(recordMs);
+        doctorPage.pauseRecording();
+        doctorPage.openReviewPopup();
+        Assert.assertTrue(doctorPage.isReviewPopupOpen(), "❌ Review popup should be open (iteration " + iteration + ").");
+
+        doctorPage.recordAgain();
+        Thread.sleep(recordMs);
+        doctorPage.pauseRecording();
+        doctorPage.openReviewPopup();
+        Assert.assertTrue(doctorPage.isReviewPopupOpen(), "❌ Review popup should open after recording again (iteration " + iteration + ").");
+
+        doctorPage.uploadRecordings();
+        Assert.assertTrue(doctorPage.verifyTaskCreated(), "❌ Task was not created (iteration " + iteration + ").");
+    }
+}
@@ -0,0 +1,132 @@
+package tests;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import listeners.Prerequisites;
+import pages.DoctorDashboardPage;
+import utils.DriverServiceManager;
+import utils.ExtentReportManager;
+import utils.ProfileTemplate;
+import utils.TestConfig;
+import utils.WavGenerator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Not part of testng.xml; run on demand, e.g.
+// mvn test -Dtest=RecordingUploadThroughputTest -Dezyscribe.upload.clipSeconds=5,300,3600
+// Every clip uploads, so every clip creates a task for the test doctor.
+@Prerequisites(role = "doctor")
+public class RecordingUploadThroughputTest {
+
+    private WebDriver driver;
+    private static final Logger log = LogManager.getLogger(RecordingUploadThroughputTest.class);
+
+    // Clip lengths in seconds, e.g. -Dezyscribe.upload.clipSeconds=5,300,3600
+    @DataProvider(name = "clipLengths")
+    public Object[][] clipLengths() {
+        String[] values = TestConfig.getString("upload.clipSeconds", "5,60").split(",");
+        Object[][] data = new Object[values.length][1];
+        for (int i = 0; i < values.length; i++) {
+            data[i][0] = Integer.parseInt(values[i].trim());
+        }
+        return data;
+    }
+
+    // Chrome reads the fake capture file at launch, so each clip length needs its own browser
+    private DoctorDashboardPage openDashboardWithClip(Path wav) {
+        ChromeOptions options = new ChromeOptions();
+        ProfileTemplate.freshSession(options);
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--use-fake-ui-for-media-stream");
+        options.addArguments("--use-fake-device-for-media-stream");
+        options.addArguments("--use-file-for-fake-audio-capture=" + wav + "%noloop");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        prefs.put("profile.default_content_setting_values.media_stream_mic", 1);
+        options.setExperimentalOption("prefs", prefs);
+
+        driver = DriverServiceManager.newChromeDriver(options);
+        driver.manage().window().maximize();
+        DoctorDashboardPage doctorPage = new DoctorDashboardPage(driver);
+        doctorPage.loginAsDoctor("testprovider@gmail.com", "12345678");
+        doctorPage.waitForDashboardToLoad();
+        return doctorPage;
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void teardown() {
+        if (driver != null) {
+            driver.quit();
+            driver = null;
+        }
+    }
+
+    @Test(dataProvider = "clipLengths", description = "Upload throughput for recordings of different lengths")
+    public void uploadThroughputForClipLength(int clipSeconds) throws IOException, InterruptedException {
+        Path wav = WavGenerator.clipOfSeconds(clipSeconds);
+        DoctorDashboardPage doctorPage = openDashboardWithClip(wav);
+
+        log.info("🎙️ Recording {}s synthetic clip...", clipSeconds);
+        doctorPage.startRecording();
+        Thread.sleep(clipSeconds * 1000L);
+        doctorPage.pauseRecording();
+        doctorPage.openReviewPopup();
+        Assert.assertTrue(doctorPage.isReviewPopupOpen(), "❌ Review popup should be open.");
+
+        doctorPage.startUploadByteCounter();
+        long start = System.nanoTime();
+        doctorPage.uploadRecordings();
+        boolean created = doctorPage.verifyTaskCreated(clipSeconds);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertTrue(created, "❌ Task was not created after uploading a " + clipSeconds + "s clip.");
+
+        long bytes = doctorPage.getUploadedBytes();
+        double bytesPerSecond = elapsedMs == 0 ? 0 : bytes * 1000.0 / elapsedMs;
+        String summary = String.format("clip=%ds upload=%d ms bytes=%d throughput=%.0f B/s",
+                clipSeconds, elapsedMs, bytes, bytesPerSecond);
+        log.info("📤 {}", summary);
+        ExtentTest test = ExtentReportManager.getTest(); // null when run without TestListener
+        if (test != null) test.info(summary);
+        appendResult(clipSeconds, elapsedMs, bytes, bytesPerSecond);
+
+        // Budgets are opt-in; the CSV history is what shows a drift
+        long minBytesPerSecond = TestConfig.getLong("upload.minBytesPerSec", 0);
+        long maxUploadMs = TestConfig.getLong("upload.maxMsPerMinute", 0) * Math.max(1, clipSeconds / 60);
+        if (minBytesPerSecond > 0) {
+            Assert.assertTrue(bytesPerSecond >= minBytesPerSecond, "❌ Upload throughput regressed: " + summary);
+        }
+        if (maxUploadMs > 0) {
+            Assert.assertTrue(elapsedMs <= maxUploadMs, "❌ Upload took too long: " + summary);
+        }
+    }
+
+    private static void appendResult(int clipSeconds, long elapsedMs, long bytes, double bytesPerSecond) {
+        Path csv = Paths.get(TestConfig.outputDir(), "upload-throughput.csv");
+        try {
+            if (!Files.exists(csv)) {
+                Files.createDirectories(csv.getParent());
+                Files.write(csv, "timestamp,clipSeconds,uploadMs,bytes,bytesPerSecond\n".getBytes(StandardCharsets.UTF_8));
+            }
+            String row = String.format("%d,%d,%d,%d,%.0f%n", System.currentTimeMillis(), clipSeconds, elapsedMs, bytes, bytesPerSecond);
+            Files.write(csv, row.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not append upload throughput result: {}", e.getMessage());
+        }
+    }
+}
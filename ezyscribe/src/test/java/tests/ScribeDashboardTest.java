@@ -3,29 +3,51 @@ package tests;
 import com.aventstack.extentreports.ExtentTest;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.Assert;
 import org.testng.annotations.*;
+import listeners.Prerequisites;
 import pages.ScribeDashboardPage;
+import utils.DriverServiceManager;
+import utils.MaxDuration;
+import utils.MemoryMonitor;
+import utils.NetworkCapture;
+import utils.PerformanceBudgets;
+import utils.TaskFixtures;
 import utils.ExtentReportManager;
+import utils.ProfileTemplate;
+import utils.TaskUrlState;
+import utils.VisualCheck;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+@Prerequisites(role = "scribe", page = "/tasks")
 public class ScribeDashboardTest {
 
     private WebDriver driver;
     private ScribeDashboardPage scribePage;
     private boolean isLoggedIn = false;
+    private TaskFixtures fixtures;
     private static ExtentTest test;
 
     @BeforeClass
     public void setup() {
+        // Known tasks to search for (-Dezyscribe.fixtures.mode=http|file); none by default
+        fixtures = TaskFixtures.seed("testscribe@gmail.com", "12345678", TaskFixtures.standardSet());
+
+        driver = newDriver();
+        scribePage = PerformanceBudgets.newPage(ScribeDashboardPage.class, driver);
+    }
+
+    private WebDriver newDriver() {
         ChromeOptions options = new ChromeOptions();
 
         // ✅ Disable Chrome popups and automation-disruptive features
-        options.addArguments("--incognito");
+        ProfileTemplate.freshSession(options);
         options.addArguments("--disable-notifications");
         options.addArguments("--disable-extensions");
         options.addArguments("--use-fake-ui-for-media-stream"); // Optional mic access
@@ -37,23 +59,33 @@ public class ScribeDashboardTest {
         prefs.put("profile.default_content_setting_values.media_stream_mic", 1); // Auto allow mic
         options.setExperimentalOption("prefs", prefs);
 
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        scribePage = new ScribeDashboardPage(driver);
+        WebDriver session = DriverServiceManager.newChromeDriver(options);
+        session.manage().window().maximize();
+        return session;
     }
 
     @BeforeMethod
     public void ensureLoggedInAndRefresh() {
+        // A long-lived session that has grown too big is swapped for a fresh, still logged-in one
+        if (isLoggedIn && MemoryMonitor.shouldRecycle(driver)) {
+            WebDriver fresh = newDriver();
+            isLoggedIn = MemoryMonitor.recycle(driver, fresh);
+            driver = fresh;
+            scribePage = PerformanceBudgets.newPage(ScribeDashboardPage.class, driver);
+        }
         if (!isLoggedIn) {
             scribePage.loginAsScribe("testscribe@gmail.com", "12345678");
             isLoggedIn = true;
         } else {
-            scribePage.refreshDashboard();
+            scribePage.resetToTasks(); // Direct URL reset; cheaper than refresh + Reset Filters
         }
     }
 
     @AfterClass
     public void teardown() {
+        if (fixtures != null) {
+            fixtures.close();
+        }
         ExtentReportManager.flushReports();
         if (driver != null) {
             driver.quit();
@@ -68,29 +100,44 @@ public class ScribeDashboardTest {
 
         scribePage.waitForDashboardToLoad();
 
+        // The html class only says a theme was picked; the hashes check it was actually painted
+        List<CompletableFuture<VisualCheck.Result>> visuals = new ArrayList<>();
+
         scribePage.selectDarkMode();
         Assert.assertTrue(scribePage.isDarkModeActive(), "❌ Dark mode not activated!");
+        visuals.add(VisualCheck.screen(driver, "scribe-dashboard-dark"));
+        visuals.add(VisualCheck.element(scribePage.themeToggle(), "scribe-theme-toggle-dark"));
         test.pass("✅ Dark mode verified.");
 
         scribePage.selectLightMode();
         Assert.assertTrue(scribePage.isLightModeActive(), "❌ Light mode not activated!");
+        visuals.add(VisualCheck.screen(driver, "scribe-dashboard-light"));
+        visuals.add(VisualCheck.element(scribePage.themeToggle(), "scribe-theme-toggle-light"));
         test.pass("✅ Light mode verified.");
+
+        VisualCheck.assertMatches(visuals);
+        test.pass("✅ Theme visuals match their baselines.");
     }
 
     @Test(priority = 2)
+    @MaxDuration(20000)
     public void searchByFirstTaskId() throws InterruptedException {
         test = ExtentReportManager.createTest("Task ID Search Test");
 
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
-        scribePage.waitForDashboardToLoad();
-
-        String taskId = scribePage.searchSecondTaskIdInTableAndSearch();
+        String taskId;
+        if (fixtures.isSeeded()) {
+            taskId = fixtures.first().taskId;
+            scribePage.openTasks(new TaskUrlState().search(taskId));
+        } else {
+            taskId = scribePage.searchSecondTaskIdInTableAndSearch();
+        }
         test.info("🔍 Task ID used for search: " + taskId);
 
         new Actions(driver).sendKeys(Keys.ENTER).perform();
         Thread.sleep(1000);
 
         scribePage.assertFirstRowHasTaskId(taskId);
+        NetworkCapture.assertApiBudget(driver, "search", 300);
         test.pass("✅ Searched Task ID found at top.");
     }
 
@@ -98,11 +145,17 @@ public class ScribeDashboardTest {
     public void testStatusFilter() {
         test = ExtentReportManager.createTest("Status Filter Test");
 
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
-        scribePage.waitForDashboardToLoad();
-
-        test.info("📌 Applying status filter...");
-        scribePage.applyFirstStatusFilterAndVerify();
+        String status;
+        if (fixtures.isSeeded()) {
+            status = fixtures.first().status;
+            test.info("📌 Opening dashboard filtered to seeded status '" + status + "'...");
+            scribePage.openTasks(new TaskUrlState().status(status));
+        } else {
+            test.info("📌 Applying status filter...");
+            status = scribePage.applyFirstStatusFilterAndVerify();
+        }
+        NetworkCapture.assertApiBudget(driver, "status", 300);
+        scribePage.verifyAllRowsHaveStatus(status);
         test.pass("✅ Status filter applied and verified.");
 
         test.info("🧹 (Optional) Clearing status filter...");
@@ -113,11 +166,16 @@ public class ScribeDashboardTest {
     public void testPriorityFilter() {
         test = ExtentReportManager.createTest("Priority Filter Test");
 
-        scribePage.clickResetFiltersIfPresent();
-        scribePage.waitForDashboardToLoad();
-
-        test.info("📌 Applying 'Medium' priority filter...");
-        scribePage.applyPriorityFilterAndVerify();
+        String priority;
+        if (fixtures.isSeeded()) {
+            priority = fixtures.first().priority;
+            test.info("📌 Opening dashboard filtered to seeded priority '" + priority + "'...");
+            scribePage.openTasks(new TaskUrlState().priority(priority));
+        } else {
+            test.info("📌 Applying 'Medium' priority filter...");
+            priority = scribePage.applyPriorityFilterAndVerify();
+        }
+        scribePage.verifyAllRowsHavePriority(priority);
         test.pass("✅ Priority filter applied and verified.");
     }
 
@@ -132,16 +190,20 @@ public class ScribeDashboardTest {
     }
 
     @Test(priority = 6)
-    public void testTaskIdAscendingSort() throws InterruptedException {
+    @MaxDuration(20000)
+    public void testTaskIdAscendingSort() {
         test = ExtentReportManager.createTest("Ascending Sort by Task ID");
 
-        driver.navigate().to("https://appv2.ezyscribe.com/tasks");
-        scribePage.waitForDashboardToLoad();
-
-        scribePage.applyAscendingSortOnTaskId();
-        Thread.sleep(1000);
+        // By deep link; DoctorDashboardTest covers the same sort through the sort menu
+        scribePage.openTasks(new TaskUrlState().sortAscending(TaskUrlState.taskIdColumn()));
 
         scribePage.verifyTaskIdsInAscendingOrder();
+        NetworkCapture.assertApiBudget(driver, "sort", 300);
+        // The tasks this class created, wherever they fall among the tenant's own; sorted
+        // ascending they come last, so past table.maxPages the scanned pages' order has to do
+        if (!fixtures.isSeeded() || scribePage.verifyTaskIdsInOrder(fixtures.taskIdsAscending()).truncated) {
+            scribePage.verifyAllTaskIdsInAscendingOrder();
+        }
         test.pass("✅ Task IDs are sorted in ascending order.");
     }
 }
@@ -0,0 +1,210 @@
+package tests;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.*;
+
+import pages.DoctorDashboardPage;
+import pages.ScribeDashboardPage;
+import utils.DriverServiceManager;
+import utils.ExtentReportManager;
+import utils.LatencyRecorder;
+import utils.ProfileTemplate;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Not part of testng.xml; run on demand, e.g.
+// mvn test -Dtest=TaskPropagationTest -Dezyscribe.propagation.runs=20
+// A doctor and a scribe are logged in side by side; every run the doctor uploads a recording
+// (so every run creates a task), the task number is read off the doctor's dashboard, and the
+// scribe's open dashboard waits for that task to appear; anyone else's new tasks don't count.
+// Latency is taken from the upload click and from the doctor's "task created".
+public class TaskPropagationTest {
+
+    private static final String FROM_UPLOAD = "upload → scribe";
+    private static final String FROM_CONFIRMATION = "task created → scribe";
+    // Runs where the task only turned up once the scribe's table was searched for it: the time
+    // includes the doctor-side readback and the search, so it is kept out of the percentiles above
+    private static final String VIA_SEARCH = "upload → scribe search";
+
+    private WebDriver doctorDriver;
+    private WebDriver scribeDriver;
+    private DoctorDashboardPage doctorPage;
+    private ScribeDashboardPage scribePage;
+    private ExecutorService scribeSide;
+    private static final Logger log = LogManager.getLogger(TaskPropagationTest.class);
+
+    @BeforeClass
+    public void setup() {
+        scribeSide = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "scribe-watch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Both logins at once; the scribe's session is only ever used from its own thread
+        CompletableFuture<Void> scribeLogin = CompletableFuture.runAsync(() -> {
+            scribeDriver = newDriver();
+            scribePage = new ScribeDashboardPage(scribeDriver);
+            scribePage.loginAsScribe("testscribe@gmail.com", "12345678");
+            scribePage.waitForDashboardToLoad();
+        }, scribeSide);
+        doctorDriver = newDriver();
+        doctorPage = new DoctorDashboardPage(doctorDriver);
+        doctorPage.loginAsDoctor("testprovider@gmail.com", "12345678");
+        doctorPage.waitForDashboardToLoad();
+        scribeLogin.join();
+    }
+
+    private static WebDriver newDriver() {
+        ChromeOptions options = new ChromeOptions();
+        ProfileTemplate.freshSession(options);
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--use-fake-ui-for-media-stream");
+        options.addArguments("--use-fake-device-for-media-stream");
+
+        Map<String, Object> prefs = new HashMap<>();
+        prefs.put("credentials_enable_service", false);
+        prefs.put("profile.password_manager_enabled", false);
+        prefs.put("profile.default_content_setting_values.media_stream_mic", 1);
+        options.setExperimentalOption("prefs", prefs);
+
+        WebDriver session = DriverServiceManager.newChromeDriver(options);
+        session.manage().window().maximize();
+        return session;
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void teardown() {
+        if (scribeSide != null) {
+            scribeSide.shutdownNow();
+        }
+        if (doctorDriver != null) {
+            doctorDriver.quit();
+        }
+        if (scribeDriver != null) {
+            scribeDriver.quit();
+        }
+    }
+
+    @Test(description = "Time from a doctor's upload until the task shows on the scribe's dashboard")
+    public void uploadToScribeVisibility() throws Exception {
+        int runs = TestConfig.getInt("propagation.runs", 5);
+        long timeoutMs = TestConfig.getLong("propagation.timeoutMs", 120000);
+        long nudgeMs = TestConfig.getLong("propagation.nudgeMs", 5000);
+        long recordMs = TestConfig.getLong("propagation.recordMs", 2000);
+        LatencyRecorder latencies = new LatencyRecorder();
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[] {"Run", "Task", FROM_UPLOAD + " (ms)", FROM_CONFIRMATION + " (ms)"});
+        long start = System.currentTimeMillis();
+
+        for (int run = 1; run <= runs; run++) {
+            scribeSide.submit(() -> scribePage.watchForNewTasks(nudgeMs)).get();
+            Set<String> doctorTasks = doctorPage.visibleTaskIds();
+
+            doctorPage.startRecording();
+            Thread.sleep(recordMs);
+            doctorPage.pauseRecording();
+            doctorPage.openReviewPopup();
+            long uploaded = System.currentTimeMillis();
+            doctorPage.uploadRecordings();
+            Assert.assertTrue(doctorPage.verifyTaskCreated(), "❌ Task was not created (run " + run + ").");
+            long confirmed = System.currentTimeMillis();
+            String taskId = doctorPage.awaitCreatedTaskId(doctorTasks, Duration.ofMillis(timeoutMs));
+            Assert.assertNotNull(taskId, "❌ The new task never showed on the doctor's dashboard (run " + run + ").");
+
+            Future<ScribeDashboardPage.NewTask> seen =
+                    scribeSide.submit(() -> scribePage.awaitTask(taskId, Duration.ofMillis(timeoutMs)));
+            ScribeDashboardPage.NewTask task = awaitScribe(seen, timeoutMs);
+            if (task == null) {
+                log.warn("⏳ Run {}: task {} not on the scribe's dashboard within {} ms", run, taskId, timeoutMs);
+                latencies.recordError(FROM_UPLOAD);
+                latencies.recordError(FROM_CONFIRMATION);
+                rows.add(new String[] {String.valueOf(run), taskId, "> " + timeoutMs, "-"});
+                continue;
+            }
+            long fromUpload = task.seenAtMillis - uploaded;
+            long fromConfirmation = Math.max(0, task.seenAtMillis - confirmed);
+            if (task.viaSearch) {
+                latencies.record(VIA_SEARCH, fromUpload);
+                rows.add(new String[] {String.valueOf(run), task.taskId, fromUpload + " (search)", "-"});
+                log.info("🔎 Run {}: task {} not on the scribe's first page, found by search {} ms after upload",
+                        run, task.taskId, fromUpload);
+                continue;
+            }
+            latencies.record(FROM_UPLOAD, fromUpload);
+            latencies.record(FROM_CONFIRMATION, fromConfirmation);
+            rows.add(new String[] {String.valueOf(run), task.taskId, String.valueOf(fromUpload), String.valueOf(fromConfirmation)});
+            appendResult(task.taskId, fromUpload, fromConfirmation);
+            log.info("📨 Run {}: task {} reached the scribe {} ms after upload", run, task.taskId, fromUpload);
+        }
+
+        String report = latencies.report(System.currentTimeMillis() - start);
+        log.info("📊 Propagation latency over {} runs:\n{}", runs, report);
+        LatencyRecorder.Summary summary = latencies.summary(FROM_UPLOAD);
+        ExtentTest test = ExtentReportManager.getTest(); // null when run without TestListener
+        if (test != null) {
+            test.info(String.format("📨 %s over %d runs: p50 %d ms, p95 %d ms, p99 %d ms, max %d ms, %d not seen, %d found only by search",
+                    FROM_UPLOAD, runs, summary.percentile(0.50), summary.percentile(0.95), summary.percentile(0.99),
+                    summary.max(), summary.errors, latencies.summary(VIA_SEARCH).count()));
+            test.info(MarkupHelper.createTable(rows.toArray(new String[0][])));
+        }
+
+        Assert.assertEquals(summary.errors, 0, "❌ Tasks that never reached the scribe's dashboard.");
+        long maxP95 = TestConfig.getLong("propagation.maxP95Ms", 0);
+        if (maxP95 > 0) {
+            Assert.assertTrue(summary.percentile(0.95) <= maxP95,
+                    "❌ Propagation p95 " + summary.percentile(0.95) + " ms is over " + maxP95 + " ms.");
+        }
+    }
+
+    private static ScribeDashboardPage.NewTask awaitScribe(Future<ScribeDashboardPage.NewTask> seen, long timeoutMs)
+            throws InterruptedException {
+        try {
+            return seen.get(timeoutMs + 10000, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            seen.cancel(true);
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Scribe watch failed", e.getCause());
+        }
+    }
+
+    private static void appendResult(String taskId, long fromUpload, long fromConfirmation) {
+        Path csv = Paths.get(TestConfig.outputDir(), "task-propagation.csv");
+        try {
+            if (!Files.exists(csv)) {
+                Files.createDirectories(csv.getParent());
+                Files.write(csv, "timestamp,taskId,uploadToScribeMs,createdToScribeMs\n".getBytes(StandardCharsets.UTF_8));
+            }
+            String row = String.format("%d,%s,%d,%d%n", System.currentTimeMillis(), taskId, fromUpload, fromConfirmation);
+            Files.write(csv, row.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not append propagation result: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Just enough of a Java parser for impact analysis: the top-level members of a source file
+// (methods, fields, constructors, initializers) with their line ranges, annotations and bodies.
+// Comments and literals are blanked first so braces and names inside them don't count.
+class JavaSourceIndex {
+
+    enum Kind { METHOD, FIELD, OTHER }
+
+    static class Member {
+        final String className;
+        final String name;
+        final Kind kind;
+        final String type;
+        final Set<String> annotations;
+        final int startLine;
+        final int endLine;
+        final String body;
+
+        Member(String className, String name, Kind kind, String type, Set<String> annotations,
+               int startLine, int endLine, String body) {
+            this.className = className;
+            this.name = name;
+            this.kind = kind;
+            this.type = type;
+            this.annotations = annotations;
+            this.startLine = startLine;
+            this.endLine = endLine;
+            this.body = body;
+        }
+
+        String symbol() {
+            return className + "#" + name;
+        }
+
+        boolean hasAnnotation(String annotation) {
+            return annotations.contains(annotation);
+        }
+    }
+
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(class|interface|enum)\\s+(\\w+)");
+    private static final Pattern ANNOTATION = Pattern.compile("@(\\w+)(\\s*\\([^)]*\\))?");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][\\w$]*");
+    private static final Set<String> KEYWORDS = new LinkedHashSet<>();
+    static {
+        for (String keyword : ("if for while switch catch synchronized return new throw try do else "
+                + "public private protected static final abstract native transient volatile default").split(" ")) {
+            KEYWORDS.add(keyword);
+        }
+    }
+
+    final Path path;
+    final String className;
+    final boolean isInterface;
+    final String source;
+    final String code;
+    final List<Member> members = new ArrayList<>();
+    private final int[] lineStarts;
+
+    private JavaSourceIndex(Path path, String source) {
+        this.path = path;
+        this.source = source;
+        this.code = blankCommentsAndLiterals(source);
+        this.lineStarts = lineStarts(code);
+
+        Matcher declaration = TYPE_DECLARATION.matcher(code);
+        if (!declaration.find()) {
+            throw new IllegalArgumentException("No type declaration in " + path);
+        }
+        this.className = declaration.group(2);
+        this.isInterface = "interface".equals(declaration.group(1));
+        int open = code.indexOf('{', declaration.end());
+        if (open >= 0) indexMembers(open + 1);
+    }
+
+    static JavaSourceIndex parse(Path path) throws IOException {
+        return new JavaSourceIndex(path, new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+    }
+
+    // The member whose declaration (annotations included) spans the line, or null for
+    // package/imports/class header lines and blank space between members
+    Member memberAt(int line) {
+        for (Member member : members) {
+            if (line >= member.startLine && line <= member.endLine) return member;
+        }
+        return null;
+    }
+
+    Member member(String name) {
+        for (Member member : members) {
+            if (member.name.equals(name)) return member;
+        }
+        return null;
+    }
+
+    private void indexMembers(int from) {
+        int depth = 1;
+        int parens = 0;
+        int segmentStart = from;
+        int bodyStart = -1;
+        for (int i = from; i < code.length(); i++) {
+            char c = code.charAt(i);
+            if (depth == 1) {
+                // Braces inside annotation arguments, e.g. @SuppressWarnings({"a", "b"})
+                if (c == '(') parens++;
+                else if (c == ')') parens--;
+                if (parens > 0) continue;
+            }
+            if (c == '{') {
+                if (depth == 1) bodyStart = i;
+                depth++;
+            } else if (c == '}') {
+                depth--;
+                if (depth == 0) return;
+                if (depth == 1) {
+                    addMember(segmentStart, bodyStart, i + 1);
+                    segmentStart = i + 1;
+                }
+            } else if (c == ';' && depth == 1) {
+                addMember(segmentStart, i, i + 1);
+                segmentStart = i + 1;
+            }
+        }
+    }
+
+    private void addMember(int start, int headerEnd, int end) {
+        while (start < headerEnd && Character.isWhitespace(code.charAt(start))) start++;
+        String header = code.substring(start, headerEnd);
+        if (header.trim().isEmpty()) return;
+
+        Set<String> annotations = new LinkedHashSet<>();
+        Matcher annotation = ANNOTATION.matcher(header);
+        while (annotation.find()) annotations.add(annotation.group(1));
+        String plain = ANNOTATION.matcher(header).replaceAll(" ").trim();
+
+        String name;
+        Kind kind;
+        String type = null;
+        Matcher nested = TYPE_DECLARATION.matcher(plain);
+        int paren = plain.indexOf('(');
+        int assign = plain.indexOf('=');
+        if (nested.find()) {
+            name = nested.group(2);
+            kind = Kind.OTHER;
+        } else if (paren >= 0 && (assign < 0 || paren < assign)) {
+            List<String> before = identifiers(plain.substring(0, paren));
+            name = before.isEmpty() ? "<init>" : before.get(before.size() - 1);
+            kind = name.equals(className) || KEYWORDS.contains(name) ? Kind.OTHER : Kind.METHOD;
+            if (kind == Kind.OTHER) name = "<init>";
+        } else if (plain.isEmpty() || plain.equals("static")) {
+            name = "<clinit>";
+            kind = Kind.OTHER;
+        } else {
+            List<String> before = identifiers(assign >= 0 ? plain.substring(0, assign) : plain);
+            if (before.isEmpty()) return;
+            name = before.get(before.size() - 1);
+            type = before.size() > 1 ? before.get(before.size() - 2) : null;
+            kind = Kind.FIELD;
+        }
+        members.add(new Member(className, name, kind, type, annotations,
+                lineOf(start), lineOf(end - 1), code.substring(headerEnd, end)));
+    }
+
+    private static List<String> identifiers(String text) {
+        List<String> result = new ArrayList<>();
+        Matcher matcher = IDENTIFIER.matcher(text);
+        while (matcher.find()) {
+            if (!KEYWORDS.contains(matcher.group())) result.add(matcher.group());
+        }
+        return result;
+    }
+
+    int lineOf(int offset) {
+        int low = 0, high = lineStarts.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (lineStarts[mid] <= offset) low = mid;
+            else high = mid - 1;
+        }
+        return low + 1;
+    }
+
+    private static int[] lineStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') starts.add(i + 1);
+        }
+        int[] result = new int[starts.size()];
+        for (int i = 0; i < result.length; i++) result[i] = starts.get(i);
+        return result;
+    }
+
+    // Same length and line breaks as the input, with comments and string/char contents as spaces
+    static String blankCommentsAndLiterals(String source) {
+        StringBuilder out = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            char next = i + 1 < source.length() ? source.charAt(i + 1) : '\0';
+            if (c == '/' && next == '/') {
+                while (i < source.length() && source.charAt(i) != '\n') {
+                    out.append(' ');
+                    i++;
+                }
+            } else if (c == '/' && next == '*') {
+                int end = source.indexOf("*/", i + 2);
+                end = end < 0 ? source.length() : end + 2;
+                for (; i < end; i++) out.append(source.charAt(i) == '\n' ? '\n' : ' ');
+            } else if (c == '"' || c == '\'') {
+                out.append(c);
+                i++;
+                while (i < source.length() && source.charAt(i) != c && source.charAt(i) != '\n') {
+                    if (source.charAt(i) == '\\' && i + 1 < source.length()) {
+                        out.append(' ');
+                        i++;
+                    }
+                    out.append(' ');
+                    i++;
+                }
+                if (i < source.length()) {
+                    out.append(source.charAt(i));
+                    i++;
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package tools;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+// How JavaSourceIndex splits sources into members and how TestImpactSelector resolves the
+// references between them, on a small made-up module rather than the real pages and tests
+public class JavaSourceIndexTest {
+
+    private static final String DASHBOARD = String.join("\n",
+            "package pages;",
+            "",
+            "public interface Dashboard {",
+            "    void search(String taskId);",
+            "}",
+            "");
+
+    private static final String PAGE = String.join("\n",
+            "package pages;",
+            "",
+            "public class TasksPage implements Dashboard {",
+            "    private By searchBox = By.xpath(\"//input[@placeholder='Search {task}...']\");",
+            "",
+            "    @FindBy(xpath = \"//button[text()='Sort']\")",
+            "    private WebElement sortButton;",
+            "",
+            "    public TasksPage(WebDriver driver) {",
+            "        this.driver = driver;",
+            "    }",
+            "",
+            "    // Calls sort() for the search results",
+            "    public void search(String taskId) {",
+            "        driver.findElement(searchBox).sendKeys(taskId);",
+            "    }",
+            "",
+            "    @SuppressWarnings({\"unused\", \"rawtypes\"})",
+            "    public void sort() {",
+            "        sortButton.click();",
+            "        String brace = \"}\";",
+            "    }",
+            "}",
+            "");
+
+    private static final String TEST = String.join("\n",
+            "package tests;",
+            "",
+            "public class TasksTest {",
+            "    private TasksPage page;",
+            "",
+            "    @BeforeClass",
+            "    public void setup() {",
+            "        page = new TasksPage(driver);",
+            "    }",
+            "",
+            "    @Test",
+            "    public void searchTest() {",
+            "        page.search(\"T-1\");",
+            "    }",
+            "",
+            "    @Test",
+            "    public void sortTest() {",
+            "        /* page.search(\"T-1\"); */",
+            "        page.sort();",
+            "    }",
+            "",
+            "    @Test",
+            "    public void searchThroughInterface() {",
+            "        open(page);",
+            "    }",
+            "",
+            "    private void open(Dashboard dashboard) {",
+            "        dashboard.search(\"T-2\");",
+            "    }",
+            "}",
+            "");
+
+    private Path module;
+    private TestImpactSelector selector;
+
+    @BeforeClass
+    public void writeModule() throws IOException {
+        module = Files.createTempDirectory("impact-index");
+        write("src/main/java/pages/Dashboard.java", DASHBOARD);
+        write("src/main/java/pages/TasksPage.java", PAGE);
+        write("src/test/java/tests/TasksTest.java", TEST);
+        write("testng.xml", String.join("\n",
+                "<suite name=\"Module\">",
+                "<listeners>",
+                "    <listener class-name=\"listeners.TestListener\"/>",
+                "</listeners>",
+                "  <test name=\"All\">",
+                "    <classes>",
+                "      <class name=\"tests.TasksTest\"/>",
+                "    </classes>",
+                "  </test>",
+                "</suite>",
+                ""));
+        selector = new TestImpactSelector(module);
+        selector.index();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteModule() throws IOException {
+        if (module == null) return;
+        try (Stream<Path> files = Files.walk(module)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(file);
+        }
+    }
+
+    @Test
+    public void membersSpanTheirAnnotationsAndBodies() throws IOException {
+        JavaSourceIndex page = JavaSourceIndex.parse(module.resolve("src/main/java/pages/TasksPage.java"));
+
+        Assert.assertEquals(page.className, "TasksPage");
+        Assert.assertFalse(page.isInterface);
+        Assert.assertEquals(page.members.size(), 5, "searchBox, sortButton, constructor, search, sort");
+
+        JavaSourceIndex.Member searchBox = page.member("searchBox");
+        Assert.assertEquals(searchBox.kind, JavaSourceIndex.Kind.FIELD);
+        Assert.assertEquals(searchBox.type, "By");
+
+        JavaSourceIndex.Member sortButton = page.member("sortButton");
+        Assert.assertTrue(sortButton.hasAnnotation("FindBy"));
+        Assert.assertEquals(sortButton.startLine, lineOf(PAGE, "@FindBy"));
+        Assert.assertEquals(sortButton.endLine, lineOf(PAGE, "WebElement sortButton"));
+
+        Assert.assertEquals(page.member("<init>").kind, JavaSourceIndex.Kind.OTHER);
+
+        // The brace in the string literal doesn't end sort() early
+        JavaSourceIndex.Member sort = page.member("sort");
+        Assert.assertEquals(sort.kind, JavaSourceIndex.Kind.METHOD);
+        Assert.assertTrue(sort.hasAnnotation("SuppressWarnings"));
+        Assert.assertEquals(sort.endLine, lineOf(PAGE, "String brace") + 1);
+
+        Assert.assertNull(page.memberAt(lineOf(PAGE, "package pages")));
+        Assert.assertSame(page.memberAt(lineOf(PAGE, "sendKeys")), page.member("search"));
+    }
+
+    @Test
+    public void commentsAndLiteralsAreBlankedInPlace() {
+        String source = "int a = 1; // b()\nString s = \"c(\\\"}\"; /* d\n e */ char q = '{';";
+        String code = JavaSourceIndex.blankCommentsAndLiterals(source);
+
+        Assert.assertEquals(code.length(), source.length());
+        Assert.assertEquals(code.indexOf('\n'), source.indexOf('\n'));
+        Assert.assertEquals(code.lastIndexOf('\n'), source.lastIndexOf('\n'));
+        Assert.assertFalse(code.contains("b()") || code.contains("c(") || code.contains("}") || code.contains("{"), code);
+        Assert.assertTrue(code.contains("int a = 1;") && code.contains("char q = ' ';"), code);
+    }
+
+    @Test
+    public void locatorChangeSelectsTestsThatReachIt() {
+        // search() uses searchBox; searchThroughInterface gets there through Dashboard
+        Assert.assertEquals(selected(changeIn("src/main/java/pages/TasksPage.java", PAGE, "private By searchBox")),
+                set("TasksTest#searchTest", "TasksTest#searchThroughInterface"));
+    }
+
+    @Test
+    public void commentedOutCallsAreNotReferences() {
+        // sortTest only mentions search() in a comment, and search()'s comment only mentions sort()
+        Assert.assertEquals(selected(changeIn("src/main/java/pages/TasksPage.java", PAGE, "sortButton.click")),
+                set("TasksTest#sortTest"));
+    }
+
+    @Test
+    public void lifecycleChangeSelectsTheWholeClass() {
+        Assert.assertEquals(selected(changeIn("src/test/java/tests/TasksTest.java", TEST, "page = new TasksPage")),
+                set("TasksTest#searchTest", "TasksTest#sortTest", "TasksTest#searchThroughInterface"));
+    }
+
+    @Test
+    public void changeOutsidePagesAndTestsNeedsTheFullSuite() {
+        Map<String, Set<Integer>> changes = new TreeMap<>();
+        changes.put("src/main/java/utils/TestConfig.java", Collections.singleton(1));
+        changes.put("README.md", Collections.singleton(1));
+        TestImpactSelector.Selection selection = selector.select(changes);
+
+        Assert.assertTrue(selection.isFullSuite());
+        Assert.assertEquals(selection.fullSuiteReasons, set("src/main/java/utils/TestConfig.java"));
+    }
+
+    @Test
+    public void nothingAffectedStillWritesASuite() throws IOException {
+        TestImpactSelector.Selection selection = selector.select(Collections.<String, Set<Integer>>emptyMap());
+        selection.write(module);
+
+        String suite = new String(Files.readAllBytes(module.resolve("target/testng-impact.xml")), StandardCharsets.UTF_8);
+        Assert.assertTrue(suite.contains("<suite name=\"Module (impacted)\">"), suite);
+        Assert.assertFalse(suite.contains("<test") || suite.contains("<listener"), suite);
+        Assert.assertEquals(Files.size(module.resolve("target/impacted-tests.txt")), 0L);
+    }
+
+    private Set<String> selected(Map<String, Set<Integer>> changes) {
+        TestImpactSelector.Selection selection = selector.select(changes);
+        Assert.assertFalse(selection.isFullSuite(), "Unexpected full suite: " + selection.fullSuiteReasons);
+        return selection.tests;
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = module.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Set<Integer>> changeIn(String path, String source, String text) {
+        return Collections.<String, Set<Integer>>singletonMap(path, Collections.singleton(lineOf(source, text)));
+    }
+
+    private static int lineOf(String source, String text) {
+        int offset = source.indexOf(text);
+        Assert.assertTrue(offset >= 0, "No '" + text + "' in the sample source");
+        return source.substring(0, offset).split("\n", -1).length;
+    }
+
+    private static Set<String> set(String... values) {
+        Set<String> result = new TreeSet<>();
+        Collections.addAll(result, values);
+        return result;
+    }
+}
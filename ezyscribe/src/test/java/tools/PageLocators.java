@@ -0,0 +1,132 @@
+package tools;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Every literal locator in the page objects: By.xpath("...")-style calls in fields and method
+// bodies, and @FindBy(xpath = "...") on fields. Each gets a stable id, Page#field for fields and
+// Page#method:n for the n-th locator inside a method, so a recorded baseline can refer to it.
+public class PageLocators {
+
+    private static final Pattern BY_CALL = Pattern.compile(
+            "\\bBy\\s*\\.\\s*(xpath|cssSelector|id|name|className|tagName|linkText|partialLinkText)\\s*\\(\\s*\"");
+    private static final Pattern FIND_BY = Pattern.compile(
+            "@FindBy\\s*\\(\\s*(xpath|css|id|name|className|tagName|linkText|partialLinkText)\\s*=\\s*\"");
+
+    public static class Locator {
+        public final String page;
+        public final String id;
+        public final String kind;
+        public final String expression;
+        public final int line;
+
+        Locator(String page, String id, String kind, String expression, int line) {
+            this.page = page;
+            this.id = id;
+            this.kind = kind;
+            this.expression = expression;
+            this.line = line;
+        }
+
+        @Override
+        public String toString() {
+            return id + " (" + page + ".java:" + line + ") " + kind + ": " + expression;
+        }
+    }
+
+    public static List<Locator> scan(Path pagesDir) throws IOException {
+        List<Locator> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(pagesDir)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".java")).sorted()::iterator) {
+                result.addAll(scan(JavaSourceIndex.parse(file)));
+            }
+        }
+        return result;
+    }
+
+    static List<Locator> scan(JavaSourceIndex index) {
+        List<int[]> hits = new ArrayList<>();
+        List<String> kinds = new ArrayList<>();
+        for (Pattern pattern : new Pattern[] {BY_CALL, FIND_BY}) {
+            Matcher matcher = pattern.matcher(index.code);
+            while (matcher.find()) {
+                hits.add(new int[] {matcher.start(), matcher.end() - 1});
+                kinds.add(matcher.group(1));
+            }
+        }
+
+        // Order by position so the per-method ordinals follow the source
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < hits.size(); i++) order.add(i);
+        order.sort((a, b) -> Integer.compare(hits.get(a)[0], hits.get(b)[0]));
+
+        List<Locator> result = new ArrayList<>();
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (int i : order) {
+            int quote = hits.get(i)[1];
+            int end = endOfLiteral(index.source, quote);
+            // Only plain literals; concatenated or computed locators can't be checked statically
+            int after = skipSpaces(index.code, end + 1);
+            if (after >= index.code.length() || (index.code.charAt(after) != ')' && index.code.charAt(after) != ',')) continue;
+
+            int line = index.lineOf(hits.get(i)[0]);
+            JavaSourceIndex.Member member = index.memberAt(line);
+            String id;
+            if (member != null && member.kind == JavaSourceIndex.Kind.FIELD) {
+                id = member.symbol();
+            } else {
+                String owner = member == null ? index.className + "#<class>" : member.symbol();
+                int n = ordinals.containsKey(owner) ? ordinals.get(owner) + 1 : 1;
+                ordinals.put(owner, n);
+                id = owner + ":" + n;
+            }
+            result.add(new Locator(index.className, id, kinds.get(i), unescape(index.source.substring(quote + 1, end)), line));
+        }
+        return result;
+    }
+
+    private static int endOfLiteral(String source, int openingQuote) {
+        for (int i = openingQuote + 1; i < source.length(); i++) {
+            char c = source.charAt(i);
+            if (c == '\\') i++;
+            else if (c == '"') return i;
+        }
+        return source.length() - 1;
+    }
+
+    private static int skipSpaces(String text, int from) {
+        while (from < text.length() && Character.isWhitespace(text.charAt(from))) from++;
+        return from;
+    }
+
+    private static String unescape(String literal) {
+        StringBuilder out = new StringBuilder(literal.length());
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c != '\\' || i + 1 >= literal.length()) {
+                out.append(c);
+                continue;
+            }
+            char next = literal.charAt(++i);
+            switch (next) {
+                case 'n': out.append('\n'); break;
+                case 't': out.append('\t'); break;
+                case 'r': out.append('\r'); break;
+                case 'u':
+                    out.append((char) Integer.parseInt(literal.substring(i + 1, i + 5), 16));
+                    i += 4;
+                    break;
+                default: out.append(next);
+            }
+        }
+        return out.toString();
+    }
+}
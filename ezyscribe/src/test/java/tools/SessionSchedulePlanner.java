@@ -0,0 +1,143 @@
+package tools;
+
+import listeners.SessionAwareScheduler;
+import org.testng.annotations.Test;
+import utils.DurationTrends;
+import utils.TestConfig;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Splits testng.xml across N parallel workers for when one browser at a time is too slow.
+// Each class is costed from the duration history (DurationTrends, the per-test medians) with
+// -Dezyscribe.scheduler.defaultTestMs for tests that have none yet, then classes are packed
+// longest-first onto the least-loaded worker. Each worker lists its classes in the session order
+// SessionAwareScheduler uses (logged-out classes first, then grouped by role and page), and
+// TestNG's preserve-order runs them as blocks in that order.
+//
+// From the ezyscribe directory, after mvn test-compile:
+//   java -cp "target/classes:target/test-classes:<test classpath>" tools.SessionSchedulePlanner 3
+//   mvn test -DsuiteXmlFile=target/testng-scheduled.xml
+public class SessionSchedulePlanner {
+
+    private static final Pattern SUITE_CLASS = Pattern.compile("<class\\s+name=\"([\\w.]+)\"");
+    private static final Pattern SUITE_LISTENER = Pattern.compile("<listener\\s+class-name=\"([\\w.]+)\"");
+    private static final Pattern SUITE_NAME = Pattern.compile("<suite\\s+name=\"([^\"]*)\"");
+
+    static class Planned {
+        final String name;
+        final SessionAwareScheduler.State state;
+        final long millis;
+
+        Planned(String name, SessionAwareScheduler.State state, long millis) {
+            this.name = name;
+            this.state = state;
+            this.millis = millis;
+        }
+    }
+
+    static class Worker {
+        final List<Planned> classes = new ArrayList<>();
+        long millis;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : 2;
+        Path moduleDir = Paths.get("").toAbsolutePath();
+        String suite = new String(Files.readAllBytes(moduleDir.resolve("testng.xml")), StandardCharsets.UTF_8);
+
+        List<Planned> classes = new ArrayList<>();
+        Matcher suiteClass = SUITE_CLASS.matcher(suite);
+        while (suiteClass.find()) {
+            classes.add(cost(suiteClass.group(1)));
+        }
+        List<Worker> plan = plan(classes, workers);
+        print(plan);
+        write(moduleDir, suite, plan);
+    }
+
+    static Planned cost(String className) {
+        long fallback = TestConfig.getLong("scheduler.defaultTestMs", 60000);
+        try {
+            Class<?> type = Class.forName(className);
+            long millis = 0;
+            for (Method method : type.getMethods()) {
+                if (method.getAnnotation(Test.class) == null) continue;
+                millis += DurationTrends.typicalMillis(type.getSimpleName() + "#" + method.getName(), fallback);
+            }
+            return new Planned(className, SessionAwareScheduler.stateOf(type, null), millis);
+        } catch (ClassNotFoundException | LinkageError e) {
+            System.out.println("⚠️ " + className + " is not on the classpath; costed at " + fallback + " ms");
+            return new Planned(className, SessionAwareScheduler.stateOf(Object.class, null), fallback);
+        }
+    }
+
+    static List<Worker> plan(List<Planned> classes, int workers) {
+        List<Worker> plan = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, Math.min(workers, classes.size())); i++) plan.add(new Worker());
+
+        List<Planned> longestFirst = new ArrayList<>(classes);
+        longestFirst.sort(Comparator.comparingLong((Planned p) -> p.millis).reversed());
+        for (Planned planned : longestFirst) {
+            Worker least = plan.get(0);
+            for (Worker worker : plan) {
+                if (worker.millis < least.millis) least = worker;
+            }
+            least.classes.add(planned);
+            least.millis += planned.millis;
+        }
+        for (Worker worker : plan) {
+            worker.classes.sort(Comparator.comparing(p -> p.state.sortKey()));
+        }
+        return plan;
+    }
+
+    private static void print(List<Worker> plan) {
+        long longest = 0;
+        for (int i = 0; i < plan.size(); i++) {
+            Worker worker = plan.get(i);
+            longest = Math.max(longest, worker.millis);
+            System.out.println("Worker " + (i + 1) + " (~" + worker.millis / 1000 + " s):");
+            for (Planned planned : worker.classes) {
+                System.out.println("    " + planned.name + "  [" + planned.state + "]  ~" + planned.millis / 1000 + " s");
+            }
+        }
+        System.out.println("Estimated wall time: ~" + longest / 1000 + " s");
+    }
+
+    // target/testng-scheduled.xml: one <test> per worker, run in parallel, same listeners
+    private static void write(Path moduleDir, String original, List<Worker> plan) throws IOException {
+        Path target = moduleDir.resolve("target");
+        Files.createDirectories(target);
+
+        Matcher name = SUITE_NAME.matcher(original);
+        StringBuilder xml = new StringBuilder();
+        xml.append("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n");
+        xml.append("<suite name=\"").append(name.find() ? name.group(1) : "EzyScribe").append(" (scheduled)\"")
+                .append(" parallel=\"tests\" thread-count=\"").append(plan.size()).append("\">\n");
+        xml.append("<listeners>\n");
+        Matcher listener = SUITE_LISTENER.matcher(original);
+        while (listener.find()) {
+            xml.append("    <listener class-name=\"").append(listener.group(1)).append("\"/>\n");
+        }
+        xml.append("</listeners>\n");
+        for (int i = 0; i < plan.size(); i++) {
+            xml.append("  <test name=\"Worker ").append(i + 1).append("\">\n    <classes>\n");
+            for (Planned planned : plan.get(i).classes) {
+                xml.append("      <class name=\"").append(planned.name).append("\"/>\n");
+            }
+            xml.append("    </classes>\n  </test>\n");
+        }
+        xml.append("</suite>\n");
+        Files.write(target.resolve("testng-scheduled.xml"), xml.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,366 @@
+package tools;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Picks the tests affected by a change, so pull-request runs don't need the whole suite.
+// Each @Test in tests.* is mapped statically to the page-object methods and locators it reaches
+// (testPriorityFilter -> applyPriorityFilterAndVerify -> secondPriorityOption); changed lines from
+// git diff are mapped to the members they sit in, and only tests reaching those are selected.
+// Anything outside pages/ and tests/ (utils, listeners, pom, testng.xml) selects the full suite.
+//
+// From the ezyscribe directory, after mvn test-compile:
+//   java -cp "target/test-classes" tools.TestImpactSelector origin/main [--map]
+//   mvn test -DsuiteXmlFile=target/testng-impact.xml
+public class TestImpactSelector {
+
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern SUITE_CLASS = Pattern.compile("<class\\s+name=\"([\\w.]+)\"");
+    private static final Pattern SUITE_LISTENER = Pattern.compile("<listener\\s+class-name=\"([\\w.]+)\"");
+    private static final Pattern SUITE_NAME = Pattern.compile("<suite\\s+name=\"([^\"]*)\"");
+    private static final List<String> LIFECYCLE = Arrays.asList(
+            "BeforeClass", "BeforeMethod", "AfterClass", "AfterMethod", "BeforeTest", "AfterTest",
+            "BeforeSuite", "AfterSuite", "DataProvider", "Factory");
+    // Paths that can't change what a test does
+    private static final Pattern IGNORED = Pattern.compile("(.*\\.md|logs/.*|test-output/.*|\\.gitignore|src/test/java/tools/.*)");
+
+    private final Path moduleDir;
+    private final Map<String, JavaSourceIndex> pages = new TreeMap<>();
+    private final Map<String, JavaSourceIndex> tests = new TreeMap<>();
+    private final Map<String, Set<String>> edges = new LinkedHashMap<>();
+    private final Map<String, Set<String>> reach = new TreeMap<>();
+
+    public TestImpactSelector(Path moduleDir) {
+        this.moduleDir = moduleDir;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        boolean printMap = options.remove("--map");
+        String base = options.isEmpty() ? "origin/main" : options.get(0);
+
+        TestImpactSelector selector = new TestImpactSelector(Paths.get("").toAbsolutePath());
+        selector.index();
+        if (printMap) selector.printMap();
+
+        Selection selection = selector.select(selector.gitDiff(base));
+        selection.print();
+        selection.write(selector.moduleDir);
+    }
+
+    // ---------------------------------------------------------------- indexing
+
+    public void index() throws IOException {
+        load(moduleDir.resolve("src/main/java/pages"), pages);
+        load(moduleDir.resolve("src/test/java/tests"), tests);
+
+        for (JavaSourceIndex page : pages.values()) {
+            for (JavaSourceIndex.Member member : page.members) link(page, member);
+        }
+        for (JavaSourceIndex test : tests.values()) {
+            for (JavaSourceIndex.Member member : test.members) link(test, member);
+        }
+
+        for (JavaSourceIndex test : tests.values()) {
+            Set<String> shared = new LinkedHashSet<>();
+            for (JavaSourceIndex.Member member : test.members) {
+                if (isLifecycle(member)) shared.addAll(closure(member.symbol()));
+            }
+            for (JavaSourceIndex.Member member : test.members) {
+                if (!member.hasAnnotation("Test")) continue;
+                Set<String> reached = closure(member.symbol());
+                reached.addAll(shared);
+                reach.put(member.symbol(), reached);
+            }
+        }
+    }
+
+    private static void load(Path dir, Map<String, JavaSourceIndex> into) throws IOException {
+        if (!Files.isDirectory(dir)) return;
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files.filter(p -> p.toString().endsWith(".java")).sorted()::iterator) {
+                JavaSourceIndex index = JavaSourceIndex.parse(file);
+                into.put(index.className, index);
+            }
+        }
+    }
+
+    // Edges from a member to what its body references: members of its own class by name, and
+    // page-object members through variables declared with a page type
+    private void link(JavaSourceIndex owner, JavaSourceIndex.Member member) {
+        Set<String> targets = new LinkedHashSet<>();
+        for (JavaSourceIndex.Member other : owner.members) {
+            if (other == member || other.name.startsWith("<")) continue;
+            String pattern = other.kind == JavaSourceIndex.Kind.METHOD
+                    ? "(?<![\\w.])" + Pattern.quote(other.name) + "\\s*\\(|\\bthis\\." + Pattern.quote(other.name) + "\\s*\\("
+                    : "\\b" + Pattern.quote(other.name) + "\\b";
+            if (Pattern.compile(pattern).matcher(member.body).find()) targets.add(other.symbol());
+        }
+
+        Map<String, String> variables = pageVariables(owner);
+        for (Map.Entry<String, String> variable : variables.entrySet()) {
+            Matcher call = Pattern.compile("\\b" + Pattern.quote(variable.getKey()) + "\\s*\\.\\s*(\\w+)\\s*\\(")
+                    .matcher(member.body);
+            while (call.find()) {
+                for (String type : implementations(variable.getValue())) {
+                    if (pages.get(type).member(call.group(1)) != null) targets.add(type + "#" + call.group(1));
+                }
+            }
+        }
+        edges.put(member.symbol(), targets);
+    }
+
+    // Variable name -> page type, from fields, locals and parameters anywhere in the file
+    private Map<String, String> pageVariables(JavaSourceIndex owner) {
+        Map<String, String> variables = new LinkedHashMap<>();
+        for (String type : pages.keySet()) {
+            Matcher declaration = Pattern.compile("\\b" + type + "\\s+(\\w+)\\s*[;=,)]").matcher(owner.code);
+            while (declaration.find()) variables.put(declaration.group(1), type);
+        }
+        return variables;
+    }
+
+    // A call through an interface (TaskDashboard) may land in any page implementing it
+    private Set<String> implementations(String type) {
+        Set<String> result = new LinkedHashSet<>();
+        result.add(type);
+        Pattern implementsType = Pattern.compile("\\bimplements\\s+[\\w\\s,]*\\b" + type + "\\b");
+        for (JavaSourceIndex page : pages.values()) {
+            if (implementsType.matcher(page.code).find()) result.add(page.className);
+        }
+        return result;
+    }
+
+    private Set<String> closure(String start) {
+        Set<String> seen = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(start);
+        while (!queue.isEmpty()) {
+            String symbol = queue.poll();
+            if (!seen.add(symbol)) continue;
+            Set<String> next = edges.get(symbol);
+            if (next != null) queue.addAll(next);
+        }
+        return seen;
+    }
+
+    private static boolean isLifecycle(JavaSourceIndex.Member member) {
+        for (String annotation : LIFECYCLE) {
+            if (member.hasAnnotation(annotation)) return true;
+        }
+        return member.kind == JavaSourceIndex.Kind.FIELD || member.name.startsWith("<");
+    }
+
+    public void printMap() {
+        for (Map.Entry<String, Set<String>> test : reach.entrySet()) {
+            System.out.println(test.getKey());
+            for (String symbol : test.getValue()) {
+                String className = symbol.substring(0, symbol.indexOf('#'));
+                JavaSourceIndex page = pages.get(className);
+                if (page == null) continue;
+                JavaSourceIndex.Member member = page.member(symbol.substring(symbol.indexOf('#') + 1));
+                String kind = member == null || member.kind != JavaSourceIndex.Kind.FIELD ? "method"
+                        : member.hasAnnotation("FindBy") || "By".equals(member.type) ? "locator" : "field";
+                System.out.println("    " + kind + " " + symbol);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- diff
+
+    // Changed line numbers (new side) per path relative to the module; deletions map to the line
+    // they followed. A deleted file maps to an empty set.
+    public Map<String, Set<Integer>> gitDiff(String base) throws IOException, InterruptedException {
+        String prefix = run("git", "rev-parse", "--show-prefix").trim();
+        Map<String, Set<Integer>> changes = new TreeMap<>();
+        String current = null;
+        for (String line : run("git", "diff", "-U0", "--no-color", "--no-ext-diff", "--no-renames", base, "--", ".").split("\n")) {
+            if (line.startsWith("--- a/")) {
+                current = relative(prefix, line.substring(6));
+                changes.put(current, new TreeSet<Integer>());
+            } else if (line.startsWith("+++ b/")) {
+                current = relative(prefix, line.substring(6));
+                if (!changes.containsKey(current)) changes.put(current, new TreeSet<Integer>());
+            } else if (line.startsWith("+++ /dev/null")) {
+                changes.put(current, null);
+                current = null;
+            } else if (current != null && line.startsWith("@@")) {
+                Matcher hunk = HUNK.matcher(line);
+                if (!hunk.find()) continue;
+                int start = Integer.parseInt(hunk.group(1));
+                int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                Set<Integer> lines = changes.get(current);
+                if (count == 0) lines.add(Math.max(1, start));
+                for (int i = 0; i < count; i++) lines.add(start + i);
+            }
+        }
+        return changes;
+    }
+
+    private static String relative(String prefix, String path) {
+        return path.startsWith(prefix) ? path.substring(prefix.length()) : path;
+    }
+
+    private String run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).directory(moduleDir.toFile()).redirectErrorStream(true).start();
+        StringBuilder out = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) out.append(line).append('\n');
+        }
+        if (process.waitFor() != 0) {
+            throw new IOException(String.join(" ", command) + " failed:\n" + out);
+        }
+        return out.toString();
+    }
+
+    // ---------------------------------------------------------------- selection
+
+    public Selection select(Map<String, Set<Integer>> changes) {
+        Selection selection = new Selection();
+        Set<String> changedSymbols = new LinkedHashSet<>();
+        Set<String> changedClasses = new LinkedHashSet<>();
+
+        for (Map.Entry<String, Set<Integer>> change : changes.entrySet()) {
+            String path = change.getKey();
+            Set<Integer> lines = change.getValue();
+            String className = Paths.get(path).getFileName().toString().replace(".java", "");
+            boolean isPage = path.startsWith("src/main/java/pages/") && path.endsWith(".java");
+            boolean isTest = path.startsWith("src/test/java/tests/") && path.endsWith(".java");
+
+            if (IGNORED.matcher(path).matches()) {
+                continue;
+            } else if (!isPage && !isTest) {
+                selection.fullSuiteReasons.add(path);
+            } else if (lines == null || !(isPage ? pages : tests).containsKey(className)) {
+                selection.fullSuiteReasons.add(path + " (added or deleted)");
+            } else {
+                JavaSourceIndex index = (isPage ? pages : tests).get(className);
+                for (int line : lines) {
+                    JavaSourceIndex.Member member = index.memberAt(line);
+                    if (member == null || (isTest && isLifecycle(member))) {
+                        changedClasses.add(className);
+                    } else {
+                        changedSymbols.add(member.symbol());
+                    }
+                }
+            }
+        }
+        selection.changedSymbols.addAll(changedSymbols);
+        selection.changedSymbols.addAll(changedClasses);
+
+        for (Map.Entry<String, Set<String>> test : reach.entrySet()) {
+            for (String symbol : test.getValue()) {
+                if (changedSymbols.contains(symbol) || changedClasses.contains(symbol.substring(0, symbol.indexOf('#')))) {
+                    selection.tests.add(test.getKey());
+                    break;
+                }
+            }
+        }
+        return selection;
+    }
+
+    public static class Selection {
+        final Set<String> changedSymbols = new LinkedHashSet<>();
+        final Set<String> fullSuiteReasons = new LinkedHashSet<>();
+        final Set<String> tests = new TreeSet<>();
+
+        public boolean isFullSuite() {
+            return !fullSuiteReasons.isEmpty();
+        }
+
+        void print() {
+            System.out.println("Changed: " + (changedSymbols.isEmpty() ? "(no page/test members)" : String.join(", ", changedSymbols)));
+            if (isFullSuite()) {
+                System.out.println("Full suite needed, changes outside pages/ and tests/: " + String.join(", ", fullSuiteReasons));
+            } else if (tests.isEmpty()) {
+                System.out.println("No tests affected.");
+            } else {
+                System.out.println("Affected tests (" + tests.size() + "):");
+                for (String test : tests) System.out.println("    " + test);
+            }
+        }
+
+        // target/impacted-tests.txt lists Class#method (or "*" for everything, empty for nothing);
+        // target/testng-impact.xml is testng.xml narrowed to those methods, with the same listeners,
+        // or a suite with no tests when nothing is affected, so the run step always has a file
+        void write(Path moduleDir) throws IOException {
+            Path target = moduleDir.resolve("target");
+            Files.createDirectories(target);
+            Path suite = moduleDir.resolve("testng.xml");
+            Path impactSuite = target.resolve("testng-impact.xml");
+            Files.deleteIfExists(impactSuite);
+
+            if (isFullSuite()) {
+                Files.write(target.resolve("impacted-tests.txt"), "*\n".getBytes(StandardCharsets.UTF_8));
+                Files.copy(suite, impactSuite);
+                return;
+            }
+            StringBuilder list = new StringBuilder();
+            for (String test : tests) list.append(test).append('\n');
+            Files.write(target.resolve("impacted-tests.txt"), list.toString().getBytes(StandardCharsets.UTF_8));
+
+            String original = new String(Files.readAllBytes(suite), StandardCharsets.UTF_8);
+            Matcher name = SUITE_NAME.matcher(original);
+            String suiteName = (name.find() ? name.group(1) : "EzyScribe") + " (impacted)";
+            if (tests.isEmpty()) {
+                // No listeners either: nothing runs, so there's nothing to preflight or report
+                String empty = "<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n"
+                        + "<!-- No tests affected by the change -->\n"
+                        + "<suite name=\"" + suiteName + "\">\n</suite>\n";
+                Files.write(impactSuite, empty.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            Map<String, List<String>> byClass = new LinkedHashMap<>();
+            Matcher suiteClass = SUITE_CLASS.matcher(original);
+            while (suiteClass.find()) {
+                String qualified = suiteClass.group(1);
+                String simple = qualified.substring(qualified.lastIndexOf('.') + 1);
+                for (String test : tests) {
+                    if (!test.startsWith(simple + "#")) continue;
+                    if (!byClass.containsKey(qualified)) byClass.put(qualified, new ArrayList<String>());
+                    byClass.get(qualified).add(test.substring(simple.length() + 1));
+                }
+            }
+
+            StringBuilder xml = new StringBuilder();
+            xml.append("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n");
+            xml.append("<suite name=\"").append(suiteName).append("\">\n");
+            xml.append("<listeners>\n");
+            Matcher listener = SUITE_LISTENER.matcher(original);
+            while (listener.find()) {
+                xml.append("    <listener class-name=\"").append(listener.group(1)).append("\"/>\n");
+            }
+            xml.append("</listeners>\n  <test name=\"Impacted\">\n    <classes>\n");
+            for (Map.Entry<String, List<String>> entry : byClass.entrySet()) {
+                xml.append("      <class name=\"").append(entry.getKey()).append("\">\n        <methods>\n");
+                for (String method : entry.getValue()) {
+                    xml.append("          <include name=\"").append(method).append("\"/>\n");
+                }
+                xml.append("        </methods>\n      </class>\n");
+            }
+            xml.append("    </classes>\n  </test>\n</suite>\n");
+            Files.write(impactSuite, xml.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
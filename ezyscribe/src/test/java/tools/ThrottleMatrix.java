@@ -0,0 +1,75 @@
+package tools;
+
+import utils.ThrottleProfile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Writes target/testng-throttle.xml: the dashboard classes once per throttle profile, one <test>
+// each with its "throttle" parameter, plus an unthrottled "none" pass to compare against.
+// The <test>s run one after another so the profiles don't compete for the agent's CPU.
+//
+// From the ezyscribe directory, after mvn test-compile:
+//   java -cp "target/classes:target/test-classes:<test classpath>" tools.ThrottleMatrix fast-3g slow-3g cpu-4x
+//       [--classes tests.DoctorDashboardTest,tests.ScribeDashboardTest]
+//   mvn test -DsuiteXmlFile=target/testng-throttle.xml
+public class ThrottleMatrix {
+
+    private static final Pattern SUITE_LISTENER = Pattern.compile("<listener\\s+class-name=\"([\\w.]+)\"");
+    private static final Pattern SUITE_NAME = Pattern.compile("<suite\\s+name=\"([^\"]*)\"");
+    private static final String DEFAULT_CLASSES =
+            "tests.DoctorDashboardTest,tests.ScribeDashboardTest,tests.RecordingUploadThroughputTest";
+
+    public static void main(String[] args) throws IOException {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        String classes = DEFAULT_CLASSES;
+        int at = options.indexOf("--classes");
+        if (at >= 0 && at + 1 < options.size()) {
+            classes = options.get(at + 1);
+            options.subList(at, at + 2).clear();
+        }
+        List<String> profiles = new ArrayList<>();
+        profiles.add("none");
+        for (String option : options.isEmpty() ? Arrays.asList("fast-3g", "slow-3g", "cpu-4x") : options) {
+            if (!profiles.contains(option)) profiles.add(option);
+        }
+
+        Path moduleDir = Paths.get("").toAbsolutePath();
+        String original = new String(Files.readAllBytes(moduleDir.resolve("testng.xml")), StandardCharsets.UTF_8);
+        Matcher name = SUITE_NAME.matcher(original);
+        StringBuilder xml = new StringBuilder();
+        xml.append("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">\n");
+        xml.append("<suite name=\"").append(name.find() ? name.group(1) : "EzyScribe").append(" (throttled)\">\n");
+        xml.append("<listeners>\n");
+        Matcher listener = SUITE_LISTENER.matcher(original);
+        while (listener.find()) {
+            xml.append("    <listener class-name=\"").append(listener.group(1)).append("\"/>\n");
+        }
+        xml.append("</listeners>\n");
+        System.out.println("Profiles:");
+        for (String profile : profiles) {
+            // Fails here, not mid-run, on a typo
+            System.out.println("  " + ThrottleProfile.named(profile));
+            xml.append("  <test name=\"").append(profile).append("\" preserve-order=\"false\">\n");
+            xml.append("    <parameter name=\"throttle\" value=\"").append(profile).append("\"/>\n    <classes>\n");
+            for (String testClass : classes.split(",")) {
+                xml.append("      <class name=\"").append(testClass.trim()).append("\"/>\n");
+            }
+            xml.append("    </classes>\n  </test>\n");
+        }
+        xml.append("</suite>\n");
+
+        Path target = moduleDir.resolve("target");
+        Files.createDirectories(target);
+        Files.write(target.resolve("testng-throttle.xml"), xml.toString().getBytes(StandardCharsets.UTF_8));
+        System.out.println("Wrote target/testng-throttle.xml with " + profiles.size() + " profiles");
+    }
+}